@@ -1,13 +1,13 @@
 #!/bin/bash
 
 # Build and run tests in Docker
-docker-compose up --build
+docker-compose up --build --abort-on-container-exit --exit-code-from test
 
 # Copy test results from container
 mkdir -p target
-docker cp $(docker ps -lq):/app/target/surefire-reports ./target/
-docker cp $(docker ps -lq):/app/target/extent-reports ./target/
-docker cp $(docker ps -lq):/app/target/screenshots ./target/
+docker cp $(docker-compose ps -aq test):/app/target/surefire-reports ./target/
+docker cp $(docker-compose ps -aq test):/app/target/extent-reports ./target/
+docker cp $(docker-compose ps -aq test):/app/target/screenshots ./target/
 
 # Clean up
 docker-compose down
\ No newline at end of file
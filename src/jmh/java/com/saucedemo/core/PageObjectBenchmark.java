@@ -0,0 +1,78 @@
+package com.saucedemo.core;
+
+import com.saucedemo.jmh.StubDriver;
+import com.saucedemo.pages.ProductsPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.PageFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a page transition and of building a parameterized locator
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageObjectBenchmark {
+    private static final String ADD_TO_CART_BUTTON_FORMAT =
+            "//div[text()='%s']/ancestor::div[@class='inventory_item']//button";
+    private final WebDriver driver = new StubDriver();
+    private ProductsPage page;
+
+    @Setup
+    public void setUp() {
+        page = new ProductsPage(driver);
+    }
+
+    @TearDown
+    public void tearDown() {
+        PageRegistry.clear(driver);
+    }
+
+    @Benchmark
+    public ProductsPage constructPage() {
+        return new ProductsPage(driver);
+    }
+
+    @Benchmark
+    public ProductsPage injectElements() {
+        PageMetadata.of(ProductsPage.class).inject(driver, page);
+        return page;
+    }
+
+    @Benchmark
+    public ProductsPage injectElementsWithPageFactory() {
+        PageFactory.initElements(driver, page);
+        return page;
+    }
+
+    @Benchmark
+    public ProductsPage registryPage() {
+        return PageRegistry.page(driver, ProductsPage.class);
+    }
+
+    @Benchmark
+    public By formattedLocator() {
+        return By.xpath(String.format(ADD_TO_CART_BUTTON_FORMAT, "Sauce Labs Backpack"));
+    }
+
+    @Benchmark
+    public By internedLocator() {
+        return Locators.xpath(ADD_TO_CART_BUTTON_FORMAT, "Sauce Labs Backpack");
+    }
+}
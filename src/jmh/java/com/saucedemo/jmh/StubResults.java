@@ -0,0 +1,46 @@
+package com.saucedemo.jmh;
+
+import org.testng.ITestResult;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+
+/**
+ * Minimal ITestResult stand-ins for benchmarking listener code
+ */
+public final class StubResults {
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private StubResults() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Create a result that only answers getInstance(), id() and getName()
+     * @param testInstance test class instance
+     * @return ITestResult proxy
+     */
+    public static ITestResult forInstance(Object testInstance) {
+        String id = UUID.randomUUID().toString();
+        return (ITestResult) Proxy.newProxyInstance(ITestResult.class.getClassLoader(),
+                new Class<?>[]{ITestResult.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getInstance":
+                            return testInstance;
+                        case "id":
+                            return id;
+                        case "getName":
+                            return "benchmark";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,46 @@
+package com.saucedemo.reporting;
+
+import com.aventstack.extentreports.ExtentTest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * createTest/getTest under contention. Every createTest adds a node to the report,
+ * so runs are batched single-shot to keep the report model bounded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, batchSize = 500)
+@Measurement(iterations = 5, batchSize = 500)
+@Threads(16)
+@Fork(1)
+public class ExtentReportManagerBenchmark {
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ExtentReportManager.initReports();
+    }
+
+    @Benchmark
+    public ExtentTest createTest() {
+        return ExtentReportManager.createTest("benchmark");
+    }
+
+    @Benchmark
+    public ExtentTest getTest() {
+        return ExtentReportManager.getTest();
+    }
+}
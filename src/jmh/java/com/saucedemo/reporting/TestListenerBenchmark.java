@@ -0,0 +1,77 @@
+package com.saucedemo.reporting;
+
+import com.saucedemo.core.BaseTest;
+import com.saucedemo.core.DriverContext;
+import com.saucedemo.jmh.StubDriver;
+import com.saucedemo.jmh.StubResults;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import org.testng.ITestResult;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Driver lookup done by TestListener on every failure
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestListenerBenchmark {
+    private final TestListener listener = new TestListener();
+    private final WebDriver driver = new StubDriver();
+    private ITestResult legacyResult;
+    private ITestResult frameworkResult;
+
+    /**
+     * Third-party style test class that keeps its driver in a field
+     */
+    public static class LegacyTest {
+        private final String name = "legacy";
+        private final int retries = 0;
+        protected WebDriver driver;
+    }
+
+    /**
+     * Framework test class that resolves its driver through DriverContext
+     */
+    public static class FrameworkTest extends BaseTest {
+    }
+
+    @Setup
+    public void setUp() {
+        LegacyTest legacyTest = new LegacyTest();
+        legacyTest.driver = driver;
+        legacyResult = StubResults.forInstance(legacyTest);
+        frameworkResult = StubResults.forInstance(new FrameworkTest());
+    }
+
+    @TearDown
+    public void tearDown() {
+        DriverContext.clear();
+    }
+
+    @Benchmark
+    public WebDriver reflectiveLookup() {
+        DriverContext.clear();
+        return listener.getDriverFromTest(legacyResult);
+    }
+
+    @Benchmark
+    public WebDriver contextLookup() {
+        DriverContext.set(driver, "stub");
+        return listener.getDriverFromTest(frameworkResult);
+    }
+}
@@ -0,0 +1,62 @@
+package com.saucedemo.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of obtaining a ConfigReader, of re-reading the files, and of raw and typed property lookups
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigReaderBenchmark {
+    private ConfigReader config;
+
+    @Setup
+    public void setUp() {
+        config = new ConfigReader();
+    }
+
+    @Benchmark
+    public ConfigReader construct() {
+        return new ConfigReader();
+    }
+
+    @Benchmark
+    public ConfigReader sharedInstance() {
+        return ConfigReader.getInstance();
+    }
+
+    @Benchmark
+    public void reload() {
+        ConfigReader.reload();
+    }
+
+    @Benchmark
+    public String lookup() {
+        return config.getProperty("base.url");
+    }
+
+    @Benchmark
+    public String lookupMissingWithDefault() {
+        return config.getProperty("missing.key", "default");
+    }
+
+    @Benchmark
+    public long typedLookup() {
+        return config.getLong("wait.timeout.seconds", 10);
+    }
+}
@@ -0,0 +1,44 @@
+package com.saucedemo.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.TestAnnotation;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of RetryListener.transform, which runs for every test method at suite start
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RetryListenerBenchmark {
+    private RetryListener listener;
+    private Method testMethod;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        listener = new RetryListener();
+        testMethod = RetryListenerBenchmark.class.getMethod("transform");
+    }
+
+    @Benchmark
+    public ITestAnnotation transform() {
+        ITestAnnotation annotation = new TestAnnotation();
+        listener.transform(annotation, RetryListenerBenchmark.class, null, testMethod);
+        return annotation;
+    }
+}
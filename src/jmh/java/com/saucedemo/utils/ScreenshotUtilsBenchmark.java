@@ -0,0 +1,41 @@
+package com.saucedemo.utils;
+
+import com.saucedemo.jmh.StubDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Screenshot file handling. Batched single-shot runs bound the number of files written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, batchSize = 50)
+@Measurement(iterations = 5, batchSize = 50)
+@Fork(1)
+public class ScreenshotUtilsBenchmark {
+    private final WebDriver driver = new StubDriver();
+
+    @Benchmark
+    public String takeScreenshot() {
+        return ScreenshotUtils.takeScreenshot(driver, "benchmark");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public CompletableFuture<String> captureAsyncTestThreadCost() {
+        return ScreenshotUtils.captureAsync(driver, "benchmark");
+    }
+}
@@ -1,25 +1,36 @@
 package com.saucedemo.core;
 
+import com.saucedemo.reporting.PagePerformance;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Base class for all Page Objects
  */
 public abstract class BasePage {
     protected WebDriver driver;
-    protected WebDriverWait wait;
+    protected WaitEngine wait;
     protected static final Logger logger = LogManager.getLogger(BasePage.class);
-    protected static final int DEFAULT_TIMEOUT = 10;
+    private static final String EXTRACT_ALL_SCRIPT =
+            "var fields = arguments[1];"
+            + "return Array.prototype.map.call(document.querySelectorAll(arguments[0]), function (item) {"
+            + "  var row = {};"
+            + "  for (var name in fields) {"
+            + "    var field = item.querySelector(fields[name]);"
+            + "    row[name] = field ? field.innerText.trim() : null;"
+            + "  }"
+            + "  return row;"
+            + "});";
 
     /**
      * Constructor
@@ -27,8 +38,19 @@ public abstract class BasePage {
      */
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
-        PageFactory.initElements(driver, this);
+        this.wait = PageRegistry.waitEngine(driver);
+        PageMetadata.of(getClass()).inject(driver, this);
+        PagePerformance.capture(driver, getClass().getSimpleName());
+    }
+
+    /**
+     * Get a page of the current session, reusing the instance from earlier transitions
+     * @param type page class with a public (WebDriver) constructor
+     * @param <T> page type
+     * @return page object
+     */
+    protected <T extends BasePage> T page(Class<T> type) {
+        return PageRegistry.page(driver, type);
     }
 
     /**
@@ -44,7 +66,9 @@ public abstract class BasePage {
      * @param element WebElement to click
      */
     protected void click(WebElement element) {
-        logger.debug("Clicking on element: {}", element);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Clicking on element: {}", Locators.describe(element));
+        }
         wait.until(ExpectedConditions.elementToBeClickable(element)).click();
     }
 
@@ -64,7 +88,9 @@ public abstract class BasePage {
      * @param text text to type
      */
     protected void type(WebElement element, String text) {
-        logger.debug("Typing '{}' into element: {}", text, element);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Typing '{}' into element: {}", text, Locators.describe(element));
+        }
         wait.until(ExpectedConditions.visibilityOf(element));
         element.clear();
         element.sendKeys(text);
@@ -101,17 +127,16 @@ public abstract class BasePage {
     }
 
     /**
-     * Check if element is displayed
+     * Check if element is displayed, giving up after the short negative-check timeout
      * @param element WebElement to check
      * @return true if element is displayed, false otherwise
      */
     protected boolean isElementDisplayed(WebElement element) {
-        try {
-            return element.isDisplayed();
-        } catch (Exception e) {
-            logger.debug("Element not displayed: {}", element);
-            return false;
+        boolean displayed = wait.isSatisfied(d -> element.isDisplayed());
+        if (!displayed && logger.isDebugEnabled()) {
+            logger.debug("Element not displayed: {}", Locators.describe(element));
         }
+        return displayed;
     }
 
     /**
@@ -119,10 +144,39 @@ public abstract class BasePage {
      * @param element WebElement to scroll to
      */
     protected void scrollToElement(WebElement element) {
-        logger.debug("Scrolling to element: {}", element);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Scrolling to element: {}", Locators.describe(element));
+        }
         ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
     }
 
+    /**
+     * Read text from a list of elements in a single JavaScript round trip
+     * @param itemSelector CSS selector matching each item in the list
+     * @param fieldSelectors field name to CSS selector, evaluated relative to each item
+     * @return one map of field name to trimmed text per item, in document order; missing fields are null
+     */
+    @SuppressWarnings("unchecked")
+    protected List<Map<String, String>> extractAll(String itemSelector, Map<String, String> fieldSelectors) {
+        logger.debug("Extracting {} from items matching: {}", fieldSelectors.keySet(), itemSelector);
+        List<Map<String, String>> rows = (List<Map<String, String>>) ((JavascriptExecutor) driver)
+                .executeScript(EXTRACT_ALL_SCRIPT, itemSelector, fieldSelectors);
+        return rows == null ? Collections.emptyList() : rows;
+    }
+
+    /**
+     * Build an ordered field map for {@link #extractAll(String, Map)}
+     * @param namesAndSelectors alternating field names and CSS selectors
+     * @return field name to CSS selector
+     */
+    protected static Map<String, String> fields(String... namesAndSelectors) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < namesAndSelectors.length; i += 2) {
+            fields.put(namesAndSelectors[i], namesAndSelectors[i + 1]);
+        }
+        return Collections.unmodifiableMap(fields);
+    }
+
     /**
      * Get text of element
      * @param element WebElement to get text from
@@ -1,22 +1,31 @@
 package com.saucedemo.core;
 
 import com.saucedemo.reporting.ExtentReportManager;
+import com.saucedemo.reporting.LaunchMetrics;
+import com.saucedemo.reporting.PagePerformance;
+import com.saucedemo.reporting.StepMetrics;
 import com.saucedemo.reporting.TestListener;
+import com.saucedemo.reporting.TestLogBuffer;
 import com.saucedemo.utils.ConfigReader;
+import com.saucedemo.utils.FailureClassifier;
+import com.saucedemo.utils.RetryAnalyzer;
+import com.saucedemo.utils.ScreenshotUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 import org.testng.ITestResult;
 import org.testng.annotations.*;
 
+import java.util.List;
+
 /**
  * Base class for all tests
  */
 @Listeners(TestListener.class)
 public abstract class BaseTest {
-    protected WebDriver driver;
     protected static final Logger logger = LogManager.getLogger(BaseTest.class);
-    protected ConfigReader config;
+    protected ConfigReader config = ConfigReader.getInstance();
+    private static final long SCREENSHOT_DRAIN_TIMEOUT_SECONDS = 60;
 
     /**
      * Setup before the test class
@@ -24,7 +33,8 @@ public abstract class BaseTest {
     @BeforeSuite
     public void beforeSuite() {
         ExtentReportManager.initReports();
-        config = new ConfigReader();
+        ConfigReader.watchIfEnabled();
+        warmUpDriverPool();
         logger.info("Test suite started");
     }
 
@@ -35,31 +45,109 @@ public abstract class BaseTest {
     @Parameters({"browser"})
     @BeforeMethod
     public void setUp(@Optional("chrome") String browserType) {
-        config = new ConfigReader();
+        TestLogBuffer.startTest();
+        StepMetrics.startTest();
+        PagePerformance.startTest();
         logger.info("Setting up WebDriver for browser: {}", browserType);
-        driver = DriverFactory.getDriver(browserType);
+        WebDriver driver = DriverPool.borrow(browserType);
+        DriverContext.set(driver, browserType);
+        NetworkInterception.startTest(driver);
         driver.get(config.getProperty("base.url"));
-        driver.manage().window().maximize();
+        if (LaunchProfile.current().maximizeWindow()) {
+            driver.manage().window().maximize();
+        }
     }
 
     /**
-     * Teardown after each test method
+     * Teardown after each test method. Runs even when a setup step failed, so the borrowed
+     * session and its pool slot are always returned.
      * @param result test result
      */
-    @AfterMethod
+    @AfterMethod(alwaysRun = true)
     public void tearDown(ITestResult result) {
-        logger.info("Tearing down WebDriver");
-        if (driver != null) {
-            driver.quit();
+        logger.info("Returning WebDriver to pool");
+        WebDriver driver = DriverContext.getDriver();
+        if (result.getThrowable() != null
+                && FailureClassifier.classify(result.getThrowable()).needsFreshSession()) {
+            // A retry must not inherit a session that may be broken
+            DriverPool.invalidate(driver);
         }
+        FlowCheckpoints.endTest(result.isSuccess());
+        DriverPool.release(driver);
+        DriverContext.clear();
+        TestLogBuffer.endTest();
     }
 
     /**
      * Teardown after the test class
+     * @throws AssertionError if the run exceeded a percentile performance budget
      */
     @AfterSuite
     public void afterSuite() {
+        DriverPool.shutdown();
+        RemoteDriverFactory.shutdown();
+        DriverPool.getMetrics().forEach(ExtentReportManager::setSystemInfo);
+        RetryAnalyzer.getMetrics().forEach(ExtentReportManager::setSystemInfo);
+        RemoteDriverFactory.getMetrics().forEach(ExtentReportManager::setSystemInfo);
+        LaunchMetrics.getMetrics().forEach(ExtentReportManager::setSystemInfo);
+        NetworkInterception.getMetrics().forEach(ExtentReportManager::setSystemInfo);
+        LaunchMetrics.export();
+        WaitEngine.exportHistograms();
+        StepMetrics.export();
+        PagePerformance.export();
+        List<String> budgetViolations = PagePerformance.checkRunBudgets();
+        if (!budgetViolations.isEmpty()) {
+            ExtentReportManager.setSystemInfo("Performance Budgets Exceeded", String.join("; ", budgetViolations));
+        }
+        ScreenshotUtils.shutdown(SCREENSHOT_DRAIN_TIMEOUT_SECONDS);
         ExtentReportManager.flushReports();
         logger.info("Test suite completed");
+        if (!budgetViolations.isEmpty()) {
+            throw new AssertionError("Performance budgets exceeded by the run: " + String.join("; ", budgetViolations));
+        }
+    }
+
+    /**
+     * Get the WebDriver session bound to the current test thread
+     * @return WebDriver instance
+     */
+    protected WebDriver getDriver() {
+        return DriverContext.requireDriver();
+    }
+
+    /**
+     * Log in as a configured user without driving the login form when a stored session is available
+     * @param userKey user key in config.properties, e.g. "standard" for standard.user.username
+     */
+    protected void loginAs(String userKey) {
+        SessionBootstrap.loginAs(getDriver(), userKey);
+    }
+
+    /**
+     * Bring the session to a flow checkpoint, restoring it when this worker has already reached it
+     * @param name checkpoint name, e.g. "cart"
+     * @param userKey user the steps log in as
+     * @param cart product names the steps put in the cart
+     * @param steps prerequisite steps that end at the checkpoint
+     */
+    protected void reachCheckpoint(String name, String userKey, List<String> cart, Runnable steps) {
+        FlowCheckpoints.reach(getDriver(), name, userKey, cart, steps);
+    }
+
+    /**
+     * Pre-start pooled sessions for the configured browsers
+     */
+    private void warmUpDriverPool() {
+        int size = config.getInt("pool.warmup.size", 0);
+        if (size <= 0) {
+            return;
+        }
+        for (String browser : config.getProperty("pool.warmup.browsers", "chrome").split(",")) {
+            try {
+                DriverPool.warmUp(browser.trim(), size);
+            } catch (Exception e) {
+                logger.warn("Failed to warm up {} sessions: {}", browser, e.getMessage());
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.saucedemo.core;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Snapshot of the client-side state of a browser session (cookies, localStorage,
+ * sessionStorage and the current URL) that can be injected into another session on the same origin.
+ */
+public class BrowserState {
+    private static final String READ_STORAGE_SCRIPT =
+            "var storage = window[arguments[0]];"
+            + "var items = {};"
+            + "for (var i = 0; i < storage.length; i++) {"
+            + "  var key = storage.key(i);"
+            + "  items[key] = storage.getItem(key);"
+            + "}"
+            + "return items;";
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var storage = window[arguments[0]];"
+            + "storage.clear();"
+            + "var items = arguments[1];"
+            + "for (var key in items) { storage.setItem(key, items[key]); }";
+
+    private final Set<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final String url;
+
+    /**
+     * Constructor
+     * @param cookies cookies of the session
+     * @param localStorage localStorage entries of the session
+     * @param sessionStorage sessionStorage entries of the session
+     * @param url URL open when the state was captured
+     */
+    private BrowserState(Set<Cookie> cookies, Map<String, String> localStorage,
+                         Map<String, String> sessionStorage, String url) {
+        this.cookies = Collections.unmodifiableSet(cookies);
+        this.localStorage = Collections.unmodifiableMap(localStorage);
+        this.sessionStorage = Collections.unmodifiableMap(sessionStorage);
+        this.url = url;
+    }
+
+    /**
+     * Capture the state of the page currently open in a session
+     * @param driver WebDriver instance
+     * @return captured state
+     */
+    public static BrowserState capture(WebDriver driver) {
+        Set<Cookie> cookies = new HashSet<>(driver.manage().getCookies());
+        return new BrowserState(cookies, readStorage(driver, "localStorage"),
+                readStorage(driver, "sessionStorage"), driver.getCurrentUrl());
+    }
+
+    /**
+     * Inject this state into a session. The session must already be on the origin
+     * the state was captured from.
+     * @param driver WebDriver instance
+     */
+    public void restore(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, "localStorage", localStorage);
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, "sessionStorage", sessionStorage);
+    }
+
+    /**
+     * Read all entries of a Web Storage area
+     * @param driver WebDriver instance
+     * @param area "localStorage" or "sessionStorage"
+     * @return storage entries
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> readStorage(WebDriver driver, String area) {
+        Map<String, Object> items = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(READ_STORAGE_SCRIPT, area);
+        Map<String, String> storage = new HashMap<>();
+        if (items != null) {
+            items.forEach((key, value) -> storage.put(key, String.valueOf(value)));
+        }
+        return storage;
+    }
+
+    /**
+     * Get the captured cookies
+     * @return cookies
+     */
+    public Set<Cookie> getCookies() {
+        return cookies;
+    }
+
+    /**
+     * Get the captured localStorage entries
+     * @return localStorage entries
+     */
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    /**
+     * Get the captured sessionStorage entries
+     * @return sessionStorage entries
+     */
+    public Map<String, String> getSessionStorage() {
+        return sessionStorage;
+    }
+
+    /**
+     * Get the URL that was open when the state was captured
+     * @return URL
+     */
+    public String getUrl() {
+        return url;
+    }
+}
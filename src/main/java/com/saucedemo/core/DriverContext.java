@@ -0,0 +1,66 @@
+package com.saucedemo.core;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Holds the WebDriver session bound to the current test thread.
+ * TestNG runs each test invocation, its configuration methods and its listener
+ * callbacks on the same thread, so this is safe with parallel="methods".
+ */
+public class DriverContext {
+    private static final ThreadLocal<WebDriver> driverHolder = new ThreadLocal<>();
+    private static final ThreadLocal<String> browserHolder = new ThreadLocal<>();
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private DriverContext() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Bind a session to the current thread
+     * @param driver WebDriver instance
+     * @param browserType browser the session was created for
+     */
+    public static void set(WebDriver driver, String browserType) {
+        driverHolder.set(driver);
+        browserHolder.set(browserType);
+    }
+
+    /**
+     * Get the session bound to the current thread
+     * @return WebDriver instance or null if none is bound
+     */
+    public static WebDriver getDriver() {
+        return driverHolder.get();
+    }
+
+    /**
+     * Get the session bound to the current thread, failing if there is none
+     * @return WebDriver instance
+     */
+    public static WebDriver requireDriver() {
+        WebDriver driver = driverHolder.get();
+        if (driver == null) {
+            throw new IllegalStateException("No WebDriver bound to thread " + Thread.currentThread().getName());
+        }
+        return driver;
+    }
+
+    /**
+     * Get the browser type of the session bound to the current thread
+     * @return browser type or null if none is bound
+     */
+    public static String getBrowserType() {
+        return browserHolder.get();
+    }
+
+    /**
+     * Unbind the session from the current thread
+     */
+    public static void clear() {
+        driverHolder.remove();
+        browserHolder.remove();
+    }
+}
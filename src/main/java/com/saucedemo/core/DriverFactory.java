@@ -1,5 +1,8 @@
 package com.saucedemo.core;
 
+import com.saucedemo.reporting.LaunchMetrics;
+import com.saucedemo.reporting.PagePerformance;
+import com.saucedemo.utils.ConfigReader;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
@@ -12,14 +15,26 @@ import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.safari.SafariOptions;
 
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Factory class for creating WebDriver instances
  */
 public class DriverFactory {
     private static final Logger logger = LogManager.getLogger(DriverFactory.class);
-    private static final int IMPLICIT_WAIT_TIME = 10;
+    private static final ConfigReader config = ConfigReader.getInstance();
+    private static final boolean REMOTE = "remote".equalsIgnoreCase(config.getProperty("driver.backend", "local"));
+    private static final Map<WebDriver, Launch> launches = new ConcurrentHashMap<>();
+    private static final Queue<Integer> freeCacheSlots = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger cacheSlotCount = new AtomicInteger();
+    private static final AtomicInteger launchCount = new AtomicInteger();
 
     /**
      * Private constructor to prevent instantiation
@@ -29,41 +44,126 @@ public class DriverFactory {
     }
 
     /**
-     * Get a WebDriver instance for the specified browser
+     * Get a WebDriver instance for the specified browser, locally or on the grid (driver.backend),
+     * configured by the launch profile (launch.profile)
      * @param browserType type of browser (chrome, firefox, edge, safari)
      * @return WebDriver instance
      */
     public static WebDriver getDriver(String browserType) {
         WebDriver driver;
-        
-        switch (browserType.toLowerCase()) {
-            case "firefox":
-                logger.info("Initializing Firefox driver");
-                FirefoxOptions firefoxOptions = new FirefoxOptions();
-                firefoxOptions.addArguments("--headless=new");
-                driver = new FirefoxDriver(firefoxOptions);
-                break;
-            case "edge":
-                logger.info("Initializing Edge driver");
-                EdgeOptions edgeOptions = new EdgeOptions();
-                edgeOptions.addArguments("--headless=new");
-                driver = new EdgeDriver(edgeOptions);
-                break;
-            case "safari":
-                logger.info("Initializing Safari driver");
-                SafariOptions safariOptions = new SafariOptions();
-                driver = new SafariDriver(safariOptions);
-                break;
-            case "chrome":
-            default:
-                logger.info("Initializing Chrome driver");
-                ChromeOptions chromeOptions = new ChromeOptions();
-                chromeOptions.addArguments("--headless=new");
-                driver = new ChromeDriver(chromeOptions);
-                break;
+        LaunchProfile profile = LaunchProfile.current();
+        String cacheDir = REMOTE || profile == LaunchProfile.DEFAULT ? null : leaseCacheDir();
+        String marker = REMOTE ? null : "--saucedemo-launch=" + launchCount.incrementAndGet();
+        long start = System.nanoTime();
+
+        try {
+            switch (browserType.toLowerCase()) {
+                case "firefox":
+                    logger.info("Initializing Firefox driver ({} profile)", profile);
+                    FirefoxOptions firefoxOptions = new FirefoxOptions();
+                    profile.apply(firefoxOptions);
+                    marker = null;
+                    driver = REMOTE ? RemoteDriverFactory.create(firefoxOptions) : new FirefoxDriver(firefoxOptions);
+                    break;
+                case "edge":
+                    logger.info("Initializing Edge driver ({} profile)", profile);
+                    EdgeOptions edgeOptions = new EdgeOptions();
+                    profile.apply(edgeOptions, cacheDir);
+                    if (marker != null) {
+                        edgeOptions.addArguments(marker);
+                    }
+                    driver = REMOTE ? RemoteDriverFactory.create(edgeOptions) : new EdgeDriver(edgeOptions);
+                    NetworkInterception.attach(driver);
+                    break;
+                case "safari":
+                    logger.info("Initializing Safari driver ({} profile)", profile);
+                    SafariOptions safariOptions = new SafariOptions();
+                    profile.apply(safariOptions);
+                    marker = null;
+                    driver = REMOTE ? RemoteDriverFactory.create(safariOptions) : new SafariDriver(safariOptions);
+                    break;
+                case "chrome":
+                default:
+                    logger.info("Initializing Chrome driver ({} profile)", profile);
+                    ChromeOptions chromeOptions = new ChromeOptions();
+                    profile.apply(chromeOptions, cacheDir);
+                    if (marker != null) {
+                        chromeOptions.addArguments(marker);
+                    }
+                    driver = REMOTE ? RemoteDriverFactory.create(chromeOptions) : new ChromeDriver(chromeOptions);
+                    NetworkInterception.attach(driver);
+                    break;
+            }
+        } catch (RuntimeException e) {
+            releaseCacheDir(cacheDir);
+            throw e;
         }
-        
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(IMPLICIT_WAIT_TIME));
+        launches.put(driver, new Launch(cacheDir, LaunchMetrics.launched(browserType.toLowerCase(),
+                profile.name().toLowerCase(), REMOTE ? "remote" : "local", System.nanoTime() - start, marker)));
+
+        // WaitEngine owns synchronization; a non-zero implicit wait compounds with its timeouts
+        driver.manage().timeouts().implicitlyWait(
+                config.getDuration("implicit.wait.seconds", ChronoUnit.SECONDS, Duration.ZERO));
         return driver;
     }
-}
\ No newline at end of file
+
+    /**
+     * Quit a driver created by this factory, recording its memory, stopping network
+     * interception and freeing its disk cache and page objects
+     * @param driver WebDriver instance
+     */
+    public static void quit(WebDriver driver) {
+        NetworkInterception.detach(driver);
+        PageRegistry.clear(driver);
+        PagePerformance.detach(driver);
+        Launch launch = launches.remove(driver);
+        if (launch != null) {
+            LaunchMetrics.quit(launch.metrics);
+        }
+        try {
+            driver.quit();
+        } finally {
+            if (launch != null) {
+                releaseCacheDir(launch.cacheDir);
+            }
+        }
+    }
+
+    /**
+     * Lease a disk cache directory. Directories are shared by consecutive sessions
+     * but never by two running browsers, which would corrupt the cache.
+     * @return cache directory path
+     */
+    private static String leaseCacheDir() {
+        Integer slot = freeCacheSlots.poll();
+        if (slot == null) {
+            slot = cacheSlotCount.getAndIncrement();
+        }
+        return Paths.get(config.getProperty("launch.cache.dir", "target/browser-cache"), "slot-" + slot)
+                .toAbsolutePath().toString();
+    }
+
+    /**
+     * Return a disk cache directory for the next session
+     * @param cacheDir cache directory path, or null
+     */
+    private static void releaseCacheDir(String cacheDir) {
+        if (cacheDir != null) {
+            String name = Paths.get(cacheDir).getFileName().toString();
+            freeCacheSlots.add(Integer.parseInt(name.substring(name.indexOf('-') + 1)));
+        }
+    }
+
+    /**
+     * Launch details kept for the lifetime of a session
+     */
+    private static class Launch {
+        private final String cacheDir;
+        private final LaunchMetrics.Session metrics;
+
+        Launch(String cacheDir, LaunchMetrics.Session metrics) {
+            this.cacheDir = cacheDir;
+            this.metrics = metrics;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.saucedemo.core;
+
+import com.saucedemo.utils.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, per-browser pool of reusable WebDriver sessions.
+ * Tests borrow a session and return it; returned sessions are reset and kept
+ * until they exceed their maximum use count or age.
+ */
+public class DriverPool {
+    private static final Logger logger = LogManager.getLogger(DriverPool.class);
+    private static final Map<String, BrowserPool> pools = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, PooledDriver> borrowed = new ConcurrentHashMap<>();
+
+    private static final AtomicLong created = new AtomicLong();
+    private static final AtomicLong reused = new AtomicLong();
+    private static final AtomicLong evicted = new AtomicLong();
+    private static final AtomicLong borrowWaitMillis = new AtomicLong();
+
+    private static final ConfigReader config = ConfigReader.getInstance();
+    private static final int MAX_SIZE = config.getInt("pool.max.size", 4);
+    private static final int MAX_USES = config.getInt("pool.max.uses", 25);
+    private static final long MAX_AGE_MILLIS = config.getDuration(
+            "pool.max.age.minutes", ChronoUnit.MINUTES, Duration.ofMinutes(30)).toMillis();
+    private static final long BORROW_TIMEOUT_SECONDS = config.getLong("pool.borrow.timeout.seconds", 120);
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private DriverPool() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Borrow a session for the specified browser, creating one if the pool has capacity
+     * @param browserType type of browser (chrome, firefox, edge, safari)
+     * @return WebDriver instance
+     */
+    public static WebDriver borrow(String browserType) {
+        BrowserPool pool = poolFor(browserType);
+        long start = System.nanoTime();
+
+        PooledDriver pooled = pool.idle.pollFirst();
+        while (pooled != null && !isUsable(pooled)) {
+            evict(pool, pooled);
+            pooled = pool.idle.pollFirst();
+        }
+
+        if (pooled == null) {
+            pooled = pool.acquireNew();
+        }
+        if (pooled == null) {
+            pooled = pool.awaitIdle();
+        }
+        borrowWaitMillis.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        pooled.uses++;
+        if (pooled.uses > 1) {
+            reused.incrementAndGet();
+        }
+        borrowed.put(pooled.driver, pooled);
+        logger.debug("Borrowed {} session (use #{})", pooled.browserType, pooled.uses);
+        return pooled.driver;
+    }
+
+    /**
+     * Return a borrowed session to the pool, resetting its state or evicting it
+     * @param driver WebDriver instance previously obtained from {@link #borrow(String)}
+     */
+    public static void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        PooledDriver pooled = borrowed.remove(driver);
+        if (pooled == null) {
+            logger.warn("Releasing a driver that was not borrowed from the pool - quitting it");
+            quietQuit(driver);
+            return;
+        }
+
+        BrowserPool pool = poolFor(pooled.browserType);
+        if (pooled.invalidated || !isUsable(pooled) || !reset(pooled)) {
+            evict(pool, pooled);
+            return;
+        }
+        pool.idle.offerFirst(pooled);
+        logger.debug("Returned {} session to pool", pooled.browserType);
+    }
+
+    /**
+     * Mark a borrowed session to be quit instead of reused when it is released
+     * @param driver WebDriver instance previously obtained from {@link #borrow(String)}
+     */
+    public static void invalidate(WebDriver driver) {
+        PooledDriver pooled = driver == null ? null : borrowed.get(driver);
+        if (pooled != null) {
+            pooled.invalidated = true;
+        }
+    }
+
+    /**
+     * Pre-start sessions so the first tests do not pay the browser launch cost
+     * @param browserType type of browser to warm up
+     * @param count number of sessions to start
+     */
+    public static void warmUp(String browserType, int count) {
+        BrowserPool pool = poolFor(browserType);
+        int target = Math.min(count, MAX_SIZE);
+        for (int i = 0; i < target; i++) {
+            PooledDriver pooled = pool.acquireNew();
+            if (pooled == null) {
+                break;
+            }
+            pool.idle.offerLast(pooled);
+        }
+        logger.info("Warmed up {} {} session(s)", pool.idle.size(), browserType);
+    }
+
+    /**
+     * Quit every idle session. Borrowed sessions are quit when they are released.
+     */
+    public static void shutdown() {
+        for (BrowserPool pool : pools.values()) {
+            PooledDriver pooled;
+            while ((pooled = pool.idle.pollFirst()) != null) {
+                quietQuit(pooled.driver);
+                pool.permits.release();
+            }
+        }
+        logger.info("Driver pool shut down. {}", metricsSummary());
+    }
+
+    /**
+     * Get pool metrics as key/value pairs for the report
+     * @return map of metric name to value
+     */
+    public static Map<String, String> getMetrics() {
+        Map<String, String> metrics = new LinkedHashMap<>();
+        metrics.put("Pool Sessions Created", String.valueOf(created.get()));
+        metrics.put("Pool Sessions Reused", String.valueOf(reused.get()));
+        metrics.put("Pool Sessions Evicted", String.valueOf(evicted.get()));
+        metrics.put("Pool Borrow Wait (ms)", String.valueOf(borrowWaitMillis.get()));
+        return metrics;
+    }
+
+    /**
+     * Get pool metrics as a single log line
+     * @return metrics summary
+     */
+    private static String metricsSummary() {
+        return String.format("created=%d, reused=%d, evicted=%d, borrowWaitMs=%d",
+                created.get(), reused.get(), evicted.get(), borrowWaitMillis.get());
+    }
+
+    /**
+     * Get or create the pool for a browser
+     * @param browserType type of browser
+     * @return pool for the browser
+     */
+    private static BrowserPool poolFor(String browserType) {
+        return pools.computeIfAbsent(browserType.toLowerCase(), BrowserPool::new);
+    }
+
+    /**
+     * Check that a session is within its limits and still responds
+     * @param pooled pooled session
+     * @return true if the session can be handed out again
+     */
+    private static boolean isUsable(PooledDriver pooled) {
+        if (pooled.uses >= MAX_USES) {
+            logger.debug("Session reached max uses ({})", MAX_USES);
+            return false;
+        }
+        if (System.currentTimeMillis() - pooled.createdAt >= MAX_AGE_MILLIS) {
+            logger.debug("Session reached max age");
+            return false;
+        }
+        try {
+            pooled.driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            logger.warn("Session failed health check: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reset session state cheaply instead of restarting the browser.
+     * Only state is cleared; the next test's setUp loads base.url, so no page is loaded here.
+     * @param pooled pooled session
+     * @return true if the reset succeeded
+     */
+    private static boolean reset(PooledDriver pooled) {
+        try {
+            WebDriver driver = pooled.driver;
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to reset session: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Quit a session and free its slot in the pool
+     * @param pool pool the session belongs to
+     * @param pooled pooled session
+     */
+    private static void evict(BrowserPool pool, PooledDriver pooled) {
+        evicted.incrementAndGet();
+        quietQuit(pooled.driver);
+        pool.permits.release();
+        logger.debug("Evicted {} session after {} use(s)", pooled.browserType, pooled.uses);
+    }
+
+    /**
+     * Quit a driver, ignoring errors from sessions that are already gone
+     * @param driver WebDriver instance
+     */
+    private static void quietQuit(WebDriver driver) {
+        try {
+            DriverFactory.quit(driver);
+        } catch (Exception e) {
+            logger.debug("Ignoring error while quitting driver: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sessions for a single browser type
+     */
+    private static class BrowserPool {
+        private final String browserType;
+        private final BlockingDeque<PooledDriver> idle = new LinkedBlockingDeque<>();
+        private final Semaphore permits = new Semaphore(MAX_SIZE);
+
+        BrowserPool(String browserType) {
+            this.browserType = browserType;
+        }
+
+        /**
+         * Start a new session if the pool is below its maximum size
+         * @return new pooled session, or null if the pool is full
+         */
+        PooledDriver acquireNew() {
+            if (!permits.tryAcquire()) {
+                return null;
+            }
+            try {
+                PooledDriver pooled = new PooledDriver(browserType, DriverFactory.getDriver(browserType));
+                created.incrementAndGet();
+                return pooled;
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        /**
+         * Wait for a session to be returned or for a slot to free up
+         * @return pooled session
+         */
+        PooledDriver awaitIdle() {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(BORROW_TIMEOUT_SECONDS);
+            while (System.nanoTime() < deadline) {
+                try {
+                    PooledDriver pooled = idle.pollFirst(100, TimeUnit.MILLISECONDS);
+                    if (pooled != null) {
+                        if (isUsable(pooled)) {
+                            return pooled;
+                        }
+                        evict(this, pooled);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a " + browserType + " session", e);
+                }
+                PooledDriver pooled = acquireNew();
+                if (pooled != null) {
+                    return pooled;
+                }
+            }
+            throw new IllegalStateException("Timed out after " + BORROW_TIMEOUT_SECONDS
+                    + "s waiting for a " + browserType + " session");
+        }
+    }
+
+    /**
+     * A session together with its bookkeeping
+     */
+    private static class PooledDriver {
+        private final String browserType;
+        private final WebDriver driver;
+        private final long createdAt = System.currentTimeMillis();
+        private int uses;
+        private volatile boolean invalidated;
+
+        PooledDriver(String browserType, WebDriver driver) {
+            this.browserType = browserType;
+            this.driver = driver;
+        }
+    }
+}
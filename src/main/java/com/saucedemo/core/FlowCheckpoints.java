@@ -0,0 +1,106 @@
+package com.saucedemo.core;
+
+import com.saucedemo.utils.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checkpoints for multi-step flows. The first test on a worker thread that reaches a
+ * checkpoint runs its prerequisite steps and captures the browser state at the end
+ * (cookies, localStorage, sessionStorage and URL). Later tests on the same worker that
+ * declare the same checkpoint, user and cart contents restore that state into their
+ * session and open the URL instead of replaying the steps. A checkpoint is dropped when
+ * a test that used it fails, so a bad snapshot is never reused.
+ */
+public class FlowCheckpoints {
+    private static final Logger logger = LogManager.getLogger(FlowCheckpoints.class);
+    private static final boolean ENABLED = ConfigReader.getInstance().getBoolean("flow.checkpoints", true);
+    private static final ThreadLocal<Map<String, BrowserState>> checkpoints = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<String> activeKey = new ThreadLocal<>();
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private FlowCheckpoints() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Bring a session to a checkpoint, restoring it if this worker has captured it before
+     * and running the prerequisite steps otherwise. The session must be on base.url.
+     * @param driver WebDriver instance
+     * @param name checkpoint name, e.g. "cart"
+     * @param userKey user the steps log in as
+     * @param cart product names the steps put in the cart
+     * @param steps prerequisite steps that end at the checkpoint
+     */
+    public static void reach(WebDriver driver, String name, String userKey, List<String> cart, Runnable steps) {
+        String key = key(name, userKey, cart);
+        activeKey.set(key);
+        BrowserState state = ENABLED ? checkpoints.get().get(key) : null;
+        if (state != null) {
+            state.restore(driver);
+            driver.get(state.getUrl());
+            if (samePath(driver.getCurrentUrl(), state.getUrl())) {
+                logger.info("Restored checkpoint: {}", key);
+                return;
+            }
+            logger.info("Checkpoint {} was rejected - running its steps", key);
+            checkpoints.get().remove(key);
+            driver.get(ConfigReader.getInstance().getProperty("base.url"));
+        }
+
+        steps.run();
+        if (ENABLED) {
+            checkpoints.get().put(key, BrowserState.capture(driver));
+            logger.info("Captured checkpoint: {}", key);
+        }
+    }
+
+    /**
+     * Finish the current test, dropping the checkpoint it used if it did not pass
+     * @param passed true if the test passed
+     */
+    public static void endTest(boolean passed) {
+        String key = activeKey.get();
+        activeKey.remove();
+        if (key != null && !passed && checkpoints.get().remove(key) != null) {
+            logger.info("Dropped checkpoint {} after a failed test", key);
+        }
+    }
+
+    /**
+     * Build the cache key of a checkpoint
+     * @param name checkpoint name
+     * @param userKey user key
+     * @param cart product names, in any order
+     * @return cache key
+     */
+    private static String key(String name, String userKey, List<String> cart) {
+        List<String> products = new ArrayList<>(cart);
+        Collections.sort(products);
+        return name + "|" + userKey + "|" + String.join(",", products);
+    }
+
+    /**
+     * Compare the paths of two URLs, ignoring query and fragment
+     * @param actual URL the session is on
+     * @param expected checkpoint URL
+     * @return true if both point at the same page
+     */
+    private static boolean samePath(String actual, String expected) {
+        try {
+            return URI.create(actual).getPath().equals(URI.create(expected).getPath());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
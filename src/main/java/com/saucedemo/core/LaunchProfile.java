@@ -0,0 +1,124 @@
+package com.saucedemo.core;
+
+import com.saucedemo.utils.ConfigReader;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.safari.SafariOptions;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Named browser launch profiles (launch.profile).
+ * DEFAULT only runs headless and maximizes the window per test. LEAN trades fidelity
+ * the suite does not need for faster startup and less memory: no images, animations,
+ * extensions, GPU or background work, a fixed window and the eager page load strategy.
+ */
+public enum LaunchProfile {
+    DEFAULT,
+    LEAN;
+
+    private static final ConfigReader config = ConfigReader.getInstance();
+
+    /**
+     * Get the configured profile
+     * @return launch profile, DEFAULT if launch.profile is not set
+     * @throws IllegalArgumentException if launch.profile names no profile
+     */
+    public static LaunchProfile current() {
+        return valueOf(config.getProperty("launch.profile", "default").trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Check whether tests should maximize the window
+     * @return true unless the profile uses a fixed window size
+     */
+    public boolean maximizeWindow() {
+        return this == DEFAULT;
+    }
+
+    /**
+     * Apply the profile to Chrome or Edge options
+     * @param options Chromium options
+     * @param cacheDir disk cache directory to use, or null for the browser default
+     */
+    public void apply(ChromiumOptions<?> options, String cacheDir) {
+        options.addArguments("--headless=new");
+        if (this == DEFAULT) {
+            return;
+        }
+        int[] size = windowSize();
+        options.addArguments(
+                "--window-size=" + size[0] + "," + size[1],
+                "--blink-settings=imagesEnabled=false",
+                "--force-prefers-reduced-motion",
+                "--disable-extensions",
+                "--disable-component-extensions-with-background-pages",
+                "--disable-gpu",
+                "--disable-background-networking",
+                "--disable-background-timer-throttling",
+                "--disable-backgrounding-occluded-windows",
+                "--disable-renderer-backgrounding",
+                "--disable-component-update",
+                "--disable-default-apps",
+                "--disable-sync",
+                "--no-first-run",
+                "--mute-audio");
+        if (cacheDir != null) {
+            options.addArguments("--disk-cache-dir=" + cacheDir);
+        }
+        options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+    }
+
+    /**
+     * Apply the profile to Firefox options
+     * @param options Firefox options
+     */
+    public void apply(FirefoxOptions options) {
+        options.addArguments("--headless=new");
+        if (this == DEFAULT) {
+            return;
+        }
+        int[] size = windowSize();
+        options.addArguments("--width=" + size[0], "--height=" + size[1]);
+        options.addPreference("permissions.default.image", 2);
+        options.addPreference("ui.prefersReducedMotion", 1);
+        options.addPreference("toolkit.cosmeticAnimations.enabled", false);
+        options.addPreference("layers.acceleration.disabled", true);
+        options.addPreference("app.update.enabled", false);
+        options.addPreference("extensions.update.enabled", false);
+        options.addPreference("browser.safebrowsing.malware.enabled", false);
+        options.addPreference("browser.safebrowsing.phishing.enabled", false);
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+    }
+
+    /**
+     * Apply the profile to Safari options
+     * @param options Safari options
+     */
+    public void apply(SafariOptions options) {
+        if (this == LEAN) {
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        }
+    }
+
+    /**
+     * Get the fixed window size of the profile (launch.window.size, e.g. 1280x800)
+     * @return width and height
+     * @throws IllegalArgumentException if launch.window.size is malformed
+     */
+    private static int[] windowSize() {
+        String value = config.getProperty("launch.window.size", "1280x800").trim();
+        String[] parts = value.toLowerCase(Locale.ROOT).split("x");
+        try {
+            if (parts.length == 2) {
+                return new int[]{Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())};
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid launch.window.size (expected WIDTHxHEIGHT): " + value);
+    }
+}
@@ -0,0 +1,107 @@
+package com.saucedemo.core;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementHandler;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Helpers for working with locators
+ */
+public class Locators {
+    private static final Logger logger = LogManager.getLogger(Locators.class);
+    private static final Field HANDLER_LOCATOR_FIELD = handlerLocatorField();
+    private static final int MAX_CACHED_XPATHS = 4096;
+    private static final Map<String, Map<String, By>> xpathCache = new ConcurrentHashMap<>();
+    private static final AtomicInteger cachedXpaths = new AtomicInteger();
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private Locators() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Describe what an element argument points at without contacting the browser.
+     * Calling toString() on a PageFactory proxy locates the element first, so proxies
+     * are described from their locator instead.
+     * @param target By or WebElement
+     * @return locator description, e.g. "By.id: user-name"
+     */
+    public static String describe(Object target) {
+        if (target == null) {
+            return "null";
+        }
+        if (target instanceof By) {
+            return target.toString();
+        }
+        if (Proxy.isProxyClass(target.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(target);
+            if (handler instanceof LocatingElementHandler && HANDLER_LOCATOR_FIELD != null) {
+                try {
+                    return stripLocatorPrefix(String.valueOf(HANDLER_LOCATOR_FIELD.get(handler)));
+                } catch (IllegalAccessException e) {
+                    logger.debug("Cannot read locator from element proxy", e);
+                }
+            }
+            return "proxy element";
+        }
+        return target.toString();
+    }
+
+    /**
+     * Get an XPath locator built from a format with one %s placeholder, e.g. a product name.
+     * Locators are interned per format and value, so repeated calls do not rebuild them.
+     * @param format XPath format
+     * @param value value substituted for the placeholder
+     * @return By.xpath locator
+     */
+    public static By xpath(String format, String value) {
+        Map<String, By> byValue = xpathCache.computeIfAbsent(format, key -> new ConcurrentHashMap<>());
+        By by = byValue.get(value);
+        if (by == null) {
+            by = By.xpath(String.format(format, value));
+            // Past the bound, values are most likely unique per call and not worth keeping
+            if (cachedXpaths.get() < MAX_CACHED_XPATHS && byValue.putIfAbsent(value, by) == null) {
+                cachedXpaths.incrementAndGet();
+            }
+        }
+        return by;
+    }
+
+    /**
+     * Reduce "DefaultElementLocator 'By.id: x'" to "By.id: x"
+     * @param locator locator description
+     * @return By description
+     */
+    private static String stripLocatorPrefix(String locator) {
+        int quote = locator.indexOf('\'');
+        if (quote >= 0 && locator.endsWith("'")) {
+            return locator.substring(quote + 1, locator.length() - 1);
+        }
+        return locator;
+    }
+
+    /**
+     * Look up the private locator field of PageFactory's element proxy handler
+     * @return accessible field, or null if this Selenium version does not have it
+     */
+    private static Field handlerLocatorField() {
+        try {
+            Field field = LocatingElementHandler.class.getDeclaredField("locator");
+            field.setAccessible(true);
+            return field;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.debug("PageFactory proxy locators are not readable", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package com.saucedemo.core;
+
+import com.saucedemo.utils.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * DevTools network interception for Chromium sessions (network.interception.enabled).
+ * Requests matching network.block.patterns are answered with an empty response without
+ * touching the network. GET responses matching network.cache.patterns are kept in a cache
+ * shared by all sessions (and in network.cache.dir, if set, across runs) and served from it
+ * afterwards. Request, block, cache-hit and byte counts are kept per session and reset per test.
+ */
+public class NetworkInterception {
+    private static final Logger logger = LogManager.getLogger(NetworkInterception.class);
+    private static final ConfigReader config = ConfigReader.getInstance();
+    private static final boolean ENABLED = config.getBoolean("network.interception.enabled", false);
+    private static final List<Pattern> BLOCK_PATTERNS = globs(config.getProperty("network.block.patterns", ""));
+    private static final List<Pattern> CACHE_PATTERNS = globs(config.getProperty("network.cache.patterns", ""));
+    private static final String CACHE_DIR = config.getProperty("network.cache.dir", "");
+    private static final long MAX_CACHE_BYTES = config.getLong("network.cache.max.mb", 64) * 1024 * 1024;
+
+    private static final Map<String, CachedResponse> cache = new ConcurrentHashMap<>();
+    private static final AtomicLong cachedBytes = new AtomicLong();
+    private static final Map<WebDriver, Session> sessions = new ConcurrentHashMap<>();
+    private static final Stats suiteStats = new Stats();
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private NetworkInterception() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Start intercepting the network traffic of a Chromium session, if enabled
+     * @param driver WebDriver instance
+     */
+    public static void attach(WebDriver driver) {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            WebDriver devToolsDriver = driver instanceof HasDevTools ? driver : new Augmenter().augment(driver);
+            Stats stats = new Stats();
+            sessions.put(driver, new Session(new NetworkInterceptor(devToolsDriver, filter(stats)), stats));
+        } catch (RuntimeException e) {
+            logger.warn("Network interception unavailable for this session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stop intercepting a session. Call before the session quits.
+     * @param driver WebDriver instance
+     */
+    public static void detach(WebDriver driver) {
+        Session session = sessions.remove(driver);
+        if (session != null) {
+            try {
+                session.interceptor.close();
+            } catch (RuntimeException e) {
+                logger.debug("Ignoring error while closing network interceptor: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reset the counters of a session at the start of a test
+     * @param driver WebDriver instance
+     */
+    public static void startTest(WebDriver driver) {
+        Session session = driver == null ? null : sessions.get(driver);
+        if (session != null) {
+            session.stats.reset();
+        }
+    }
+
+    /**
+     * Get the counters of a session since the test started
+     * @param driver WebDriver instance
+     * @return map of metric name to value, empty if the session is not intercepted
+     */
+    public static Map<String, String> getTestStats(WebDriver driver) {
+        Session session = driver == null ? null : sessions.get(driver);
+        return session == null ? Map.of() : session.stats.toMap();
+    }
+
+    /**
+     * Get suite-wide counters for the report
+     * @return map of metric name to value, empty if interception is disabled
+     */
+    public static Map<String, String> getMetrics() {
+        if (!ENABLED) {
+            return Map.of();
+        }
+        Map<String, String> metrics = new LinkedHashMap<>();
+        suiteStats.toMap().forEach((name, value) -> metrics.put("Network " + name, value));
+        metrics.put("Network Cache Entries", String.valueOf(cache.size()));
+        return metrics;
+    }
+
+    /**
+     * Build the interception filter of a session
+     * @param stats counters of the session
+     * @return filter applied to every request of the session
+     */
+    private static Filter filter(Stats stats) {
+        return next -> request -> {
+            String url = request.getUri();
+            stats.requests.increment();
+            suiteStats.requests.increment();
+            if (matches(BLOCK_PATTERNS, url)) {
+                stats.blocked.increment();
+                suiteStats.blocked.increment();
+                return new HttpResponse().setStatus(204);
+            }
+
+            boolean cacheable = request.getMethod() == HttpMethod.GET && matches(CACHE_PATTERNS, url);
+            CachedResponse cached = cacheable ? lookup(url) : null;
+            if (cached != null) {
+                stats.cacheHits.increment();
+                suiteStats.cacheHits.increment();
+                return cached.toResponse();
+            }
+
+            HttpResponse response = next.execute(request);
+            byte[] body = Contents.bytes(response.getContent());
+            stats.bytes.add(body.length);
+            suiteStats.bytes.add(body.length);
+            response.setContent(Contents.bytes(body));
+            if (cacheable && response.getStatus() == 200) {
+                store(url, response.getHeader("Content-Type"), body);
+            }
+            return response;
+        };
+    }
+
+    /**
+     * Find a cached response in memory, then on disk
+     * @param url request URL
+     * @return cached response, or null
+     */
+    private static CachedResponse lookup(String url) {
+        CachedResponse cached = cache.get(url);
+        if (cached != null || CACHE_DIR.isEmpty()) {
+            return cached;
+        }
+        Path file = cacheFile(url);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            byte[] data = Files.readAllBytes(file);
+            int newline = indexOf(data, (byte) '\n');
+            if (newline < 0) {
+                return null;
+            }
+            cached = new CachedResponse(new String(data, 0, newline, StandardCharsets.UTF_8),
+                    Arrays.copyOfRange(data, newline + 1, data.length));
+            remember(url, cached);
+            return cached;
+        } catch (IOException e) {
+            logger.debug("Failed to read cached response for {}: {}", url, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Cache a response in memory and on disk
+     * @param url request URL
+     * @param contentType content type of the response
+     * @param body response body
+     */
+    private static void store(String url, String contentType, byte[] body) {
+        CachedResponse cached = new CachedResponse(contentType == null ? "" : contentType, body);
+        if (!remember(url, cached) || CACHE_DIR.isEmpty()) {
+            return;
+        }
+        try {
+            Path file = cacheFile(url);
+            Files.createDirectories(file.getParent());
+            ByteArrayOutputStream data = new ByteArrayOutputStream(body.length + 64);
+            data.write((cached.contentType + "\n").getBytes(StandardCharsets.UTF_8));
+            data.write(body);
+            Path temp = Files.createTempFile(file.getParent(), "response", ".tmp");
+            Files.write(temp, data.toByteArray());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.debug("Failed to write cached response for {}: {}", url, e.getMessage());
+        }
+    }
+
+    /**
+     * Keep a response in memory while the cache is below network.cache.max.mb
+     * @param url request URL
+     * @param cached response
+     * @return true if the response was added
+     */
+    private static boolean remember(String url, CachedResponse cached) {
+        long size = cachedBytes.addAndGet(cached.body.length);
+        if (size > MAX_CACHE_BYTES || cache.putIfAbsent(url, cached) != null) {
+            cachedBytes.addAndGet(-cached.body.length);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the disk cache file of a URL
+     * @param url request URL
+     * @return cache file path
+     */
+    private static Path cacheFile(String url) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder();
+            for (byte b : hash) {
+                name.append(String.format("%02x", b));
+            }
+            return Paths.get(CACHE_DIR, name.toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Compile comma-separated URL globs, where * matches any characters
+     * @param value comma-separated globs
+     * @return patterns matching whole URLs
+     */
+    private static List<Pattern> globs(String value) {
+        List<Pattern> patterns = new ArrayList<>();
+        for (String glob : value.split(",")) {
+            String trimmed = glob.trim();
+            if (!trimmed.isEmpty()) {
+                List<String> parts = new ArrayList<>();
+                for (String part : trimmed.split("\\*", -1)) {
+                    parts.add(Pattern.quote(part));
+                }
+                patterns.add(Pattern.compile(String.join(".*", parts)));
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * Check a URL against patterns
+     * @param patterns patterns
+     * @param url request URL
+     * @return true if any pattern matches the whole URL
+     */
+    private static boolean matches(List<Pattern> patterns, String url) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Find a byte in an array
+     * @param data array
+     * @param value byte to find
+     * @return index of the first occurrence, or -1
+     */
+    private static int indexOf(byte[] data, byte value) {
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Interceptor of one session together with its counters
+     */
+    private static class Session {
+        private final NetworkInterceptor interceptor;
+        private final Stats stats;
+
+        Session(NetworkInterceptor interceptor, Stats stats) {
+            this.interceptor = interceptor;
+            this.stats = stats;
+        }
+    }
+
+    /**
+     * Request counters
+     */
+    private static class Stats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder blocked = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        /**
+         * Reset all counters
+         */
+        void reset() {
+            requests.reset();
+            blocked.reset();
+            cacheHits.reset();
+            bytes.reset();
+        }
+
+        /**
+         * Convert to a map for the report
+         * @return map of metric name to value
+         */
+        Map<String, String> toMap() {
+            Map<String, String> map = new LinkedHashMap<>();
+            map.put("Requests", String.valueOf(requests.sum()));
+            map.put("Blocked", String.valueOf(blocked.sum()));
+            map.put("Cache Hits", String.valueOf(cacheHits.sum()));
+            map.put("Bytes Transferred", String.valueOf(bytes.sum()));
+            return map;
+        }
+    }
+
+    /**
+     * A cached response body and its content type
+     */
+    private static class CachedResponse {
+        private final String contentType;
+        private final byte[] body;
+
+        CachedResponse(String contentType, byte[] body) {
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        /**
+         * Build a response to serve from the cache
+         * @return HTTP response
+         */
+        HttpResponse toResponse() {
+            HttpResponse response = new HttpResponse().setStatus(200).setContent(Contents.bytes(body));
+            if (!contentType.isEmpty()) {
+                response.setHeader("Content-Type", contentType);
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.saucedemo.core;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.AbstractAnnotations;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementHandler;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementListHandler;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The element fields of a page class, resolved once per class.
+ * Does what PageFactory.initElements does, but the field scan, annotation parsing and
+ * setAccessible calls happen on first use of a class only; injecting a page afterwards
+ * just creates the lazy element proxies and sets them through pre-built setters.
+ * The proxies are PageFactory's own, so lookup, @CacheLookup and Locators.describe behave the same.
+ */
+final class PageMetadata {
+    private static final Class<?>[] ELEMENT_INTERFACES = {WebElement.class, WrapsElement.class, Locatable.class};
+    private static final ClassValue<PageMetadata> metadata = new ClassValue<>() {
+        @Override
+        protected PageMetadata computeValue(Class<?> type) {
+            return new PageMetadata(type);
+        }
+    };
+
+    private final List<Injector> injectors = new ArrayList<>();
+
+    /**
+     * Resolve the element fields of a class and its superclasses
+     * @param type page class
+     */
+    private PageMetadata(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                boolean list = isElementList(field);
+                if ((list || field.getType() == WebElement.class) && !Modifier.isStatic(field.getModifiers())
+                        && !Modifier.isFinal(field.getModifiers())) {
+                    injectors.add(new Injector(field, list));
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the metadata of a page class
+     * @param type page class
+     * @return metadata, computed on first use
+     */
+    static PageMetadata of(Class<?> type) {
+        return metadata.get(type);
+    }
+
+    /**
+     * Set every element field of a page to a lazy proxy
+     * @param context driver or element the elements are searched from
+     * @param page page instance
+     */
+    void inject(SearchContext context, Object page) {
+        for (Injector injector : injectors) {
+            injector.inject(context, page);
+        }
+    }
+
+    /**
+     * Check whether a field is an annotated List&lt;WebElement&gt;, as PageFactory requires
+     * @param field field
+     * @return true if the field holds a list of located elements
+     */
+    private static boolean isElementList(Field field) {
+        if (field.getType() != List.class) {
+            return false;
+        }
+        Type type = field.getGenericType();
+        if (!(type instanceof ParameterizedType)
+                || ((ParameterizedType) type).getActualTypeArguments()[0] != WebElement.class) {
+            return false;
+        }
+        return field.isAnnotationPresent(FindBy.class) || field.isAnnotationPresent(FindBys.class)
+                || field.isAnnotationPresent(FindAll.class);
+    }
+
+    /**
+     * Sets one element field; holds the locator parsed from its annotations
+     */
+    private static class Injector extends AbstractAnnotations {
+        private final MethodHandle setter;
+        private final boolean list;
+        private final By by;
+        private final boolean cached;
+
+        Injector(Field field, boolean list) {
+            Annotations annotations = new Annotations(field);
+            this.by = annotations.buildBy();
+            this.cached = annotations.isLookupCached();
+            this.list = list;
+            try {
+                field.setAccessible(true);
+                this.setter = MethodHandles.lookup().unreflectSetter(field);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot set page field " + field, e);
+            }
+        }
+
+        @Override
+        public By buildBy() {
+            return by;
+        }
+
+        @Override
+        public boolean isLookupCached() {
+            return cached;
+        }
+
+        /**
+         * Set the field of a page to a proxy that locates the element on use
+         * @param context driver or element the element is searched from
+         * @param page page instance
+         */
+        void inject(SearchContext context, Object page) {
+            ElementLocator locator = new DefaultElementLocator(context, this);
+            ClassLoader loader = page.getClass().getClassLoader();
+            Object proxy = list
+                    ? Proxy.newProxyInstance(loader, new Class<?>[]{List.class}, new LocatingElementListHandler(locator))
+                    : Proxy.newProxyInstance(loader, ELEMENT_INTERFACES, new LocatingElementHandler(locator));
+            try {
+                setter.invoke(page, proxy);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot set page field " + by, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.saucedemo.core;
+
+import com.saucedemo.reporting.PagePerformance;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Page objects and the WaitEngine of each browser session.
+ * Page objects only hold lazy element proxies, so one instance per page class and
+ * session can serve every page transition; they are dropped when the session quits.
+ */
+final class PageRegistry {
+    private static final MethodType PAGE_CONSTRUCTOR = MethodType.methodType(void.class, WebDriver.class);
+    private static final ClassValue<MethodHandle> constructors = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                return MethodHandles.publicLookup().findConstructor(type, PAGE_CONSTRUCTOR);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(type.getName() + " has no public (WebDriver) constructor", e);
+            }
+        }
+    };
+    private static final Map<WebDriver, Session> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private PageRegistry() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Get the page object of a session, creating it on first use.
+     * New pages capture their performance in the BasePage constructor, reused ones here
+     * @param driver WebDriver instance
+     * @param type page class with a public (WebDriver) constructor
+     * @param <T> page type
+     * @return page object
+     */
+    static <T extends BasePage> T page(WebDriver driver, Class<T> type) {
+        Session session = session(driver);
+        BasePage page = session.pages.get(type);
+        if (page == null) {
+            // Created outside computeIfAbsent: the constructor registers the session's WaitEngine
+            page = newPage(driver, type);
+            BasePage existing = session.pages.putIfAbsent(type, page);
+            page = existing == null ? page : existing;
+        } else {
+            PagePerformance.capture(driver, type.getSimpleName());
+        }
+        return type.cast(page);
+    }
+
+    /**
+     * Get the WaitEngine shared by the pages of a session
+     * @param driver WebDriver instance
+     * @return wait engine
+     */
+    static WaitEngine waitEngine(WebDriver driver) {
+        return session(driver).wait;
+    }
+
+    /**
+     * Drop the pages of a session that is quitting
+     * @param driver WebDriver instance
+     */
+    static void clear(WebDriver driver) {
+        sessions.remove(driver);
+    }
+
+    /**
+     * Get the registry entry of a session
+     * @param driver WebDriver instance
+     * @return session entry
+     */
+    private static Session session(WebDriver driver) {
+        return sessions.computeIfAbsent(driver, Session::new);
+    }
+
+    /**
+     * Construct a page object
+     * @param driver WebDriver instance
+     * @param type page class
+     * @return new page object
+     */
+    private static BasePage newPage(WebDriver driver, Class<? extends BasePage> type) {
+        try {
+            return (BasePage) constructors.get(type).invoke(driver);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to create " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Pages and wait engine of one session
+     */
+    private static class Session {
+        private final Map<Class<?>, BasePage> pages = new ConcurrentHashMap<>();
+        private final WaitEngine wait;
+
+        Session(WebDriver driver) {
+            this.wait = new WaitEngine(driver);
+        }
+    }
+}
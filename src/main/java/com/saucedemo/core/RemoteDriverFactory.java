@@ -0,0 +1,339 @@
+package com.saucedemo.core;
+
+import com.saucedemo.utils.ConfigReader;
+import com.saucedemo.utils.VirtualThreads;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.net.URL;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Creates RemoteWebDriver sessions on a Selenium Grid or standalone server (grid.url).
+ * All sessions share one HTTP client, so connections to the grid are reused. Session
+ * requests pass through a client-side queue bounded by grid.max.sessions. A request that
+ * the grid cannot serve yet is held and retried until grid.queue.timeout.seconds, not failed.
+ */
+public class RemoteDriverFactory {
+    private static final Logger logger = LogManager.getLogger(RemoteDriverFactory.class);
+    private static final ConfigReader config = ConfigReader.getInstance();
+    private static final Duration SESSION_TIMEOUT = config.getDuration(
+            "grid.session.timeout.seconds", ChronoUnit.SECONDS, Duration.ofSeconds(120));
+    private static final Duration QUEUE_TIMEOUT = config.getDuration(
+            "grid.queue.timeout.seconds", ChronoUnit.SECONDS, Duration.ofMinutes(10));
+    private static final long RETRY_INITIAL_MILLIS = 500;
+    private static final long RETRY_MAX_MILLIS = 5000;
+
+    private static final Semaphore permits = new Semaphore(config.getInt("grid.max.sessions", 4), true);
+    private static final AtomicInteger created = new AtomicInteger();
+    private static final AtomicInteger held = new AtomicInteger();
+    private static final AtomicLong queueWaitMillis = new AtomicLong();
+    private static final ExecutorService sessionStarter =
+            Executors.newCachedThreadPool(VirtualThreads.factory("grid-session-"));
+    private static final ReentrantLock clientLock = new ReentrantLock();
+    private static volatile SharedClientFactory clientFactory;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private RemoteDriverFactory() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Start a session on the grid, waiting in the client-side queue if needed
+     * @param capabilities browser options
+     * @return WebDriver instance
+     */
+    public static WebDriver create(Capabilities capabilities) {
+        long start = System.nanoTime();
+        long deadline = start + QUEUE_TIMEOUT.toNanos();
+        acquirePermit();
+        try {
+            long backoff = RETRY_INITIAL_MILLIS;
+            while (true) {
+                awaitGridReady(deadline);
+                try {
+                    WebDriver driver = startSession(capabilities);
+                    created.incrementAndGet();
+                    queueWaitMillis.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    return driver;
+                } catch (SessionNotCreatedException e) {
+                    if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff) >= deadline) {
+                        throw e;
+                    }
+                    held.incrementAndGet();
+                    logger.info("Grid could not start a {} session yet - holding the request: {}",
+                            capabilities.getBrowserName(), firstLine(e.getMessage()));
+                    sleep(backoff);
+                    backoff = Math.min(backoff * 2, RETRY_MAX_MILLIS);
+                }
+            }
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Get grid client metrics as key/value pairs for the report
+     * @return map of metric name to value, empty if no remote session was requested
+     */
+    public static Map<String, String> getMetrics() {
+        if (clientFactory == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> metrics = new LinkedHashMap<>();
+        metrics.put("Grid Sessions Created", String.valueOf(created.get()));
+        metrics.put("Grid Requests Held", String.valueOf(held.get()));
+        metrics.put("Grid Queue Wait (ms)", String.valueOf(queueWaitMillis.get()));
+        return metrics;
+    }
+
+    /**
+     * Close the shared HTTP client. Call after all remote sessions have quit.
+     */
+    public static void shutdown() {
+        clientLock.lock();
+        try {
+            if (clientFactory != null) {
+                clientFactory.shared.close();
+                clientFactory = null;
+            }
+        } finally {
+            clientLock.unlock();
+        }
+        sessionStarter.shutdownNow();
+    }
+
+    /**
+     * Start a session, giving up after grid.session.timeout.seconds
+     * @param capabilities browser options
+     * @return WebDriver instance
+     * @throws SessionNotCreatedException if the session was not created in time or was refused
+     */
+    private static WebDriver startSession(Capabilities capabilities) {
+        CompletableFuture<QueuedRemoteWebDriver> session = CompletableFuture.supplyAsync(() -> {
+            CommandExecutor executor = new HttpCommandExecutor(
+                    Collections.emptyMap(), clientFactory().clientConfig, clientFactory());
+            return new QueuedRemoteWebDriver(executor, capabilities);
+        }, sessionStarter);
+        try {
+            return session.get(SESSION_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // The grid may still create the session later; quit it so it does not hold a slot.
+            // The caller still owns the permit and retries or releases it, so this one must not
+            session.thenAccept(QueuedRemoteWebDriver::quitWithoutRelease);
+            throw new SessionNotCreatedException("No session within " + SESSION_TIMEOUT.toSeconds() + "s");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new SessionNotCreatedException(e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted while waiting for a session");
+        }
+    }
+
+    /**
+     * Take a slot in the client-side queue
+     * @throws SessionNotCreatedException if no slot frees up within grid.queue.timeout.seconds
+     */
+    private static void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(QUEUE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SessionNotCreatedException("Client-side grid queue timed out after "
+                        + QUEUE_TIMEOUT.toSeconds() + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted while queued for a grid session");
+        }
+    }
+
+    /**
+     * Wait until the grid reports it is ready to accept sessions
+     * @param deadline System.nanoTime() deadline
+     */
+    private static void awaitGridReady(long deadline) {
+        long backoff = RETRY_INITIAL_MILLIS;
+        while (!isGridReady()) {
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff) >= deadline) {
+                return;
+            }
+            held.incrementAndGet();
+            logger.info("Grid is not ready - holding the session request");
+            sleep(backoff);
+            backoff = Math.min(backoff * 2, RETRY_MAX_MILLIS);
+        }
+    }
+
+    /**
+     * Check the grid's /status endpoint
+     * @return true if the grid reports ready, or if the status cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    private static boolean isGridReady() {
+        try {
+            HttpResponse response = clientFactory().shared.execute(new HttpRequest(HttpMethod.GET, "/status"));
+            Map<String, Object> status = new Json().toType(Contents.string(response), Map.class);
+            Object value = status.get("value");
+            return !(value instanceof Map) || !Boolean.FALSE.equals(((Map<String, Object>) value).get("ready"));
+        } catch (RuntimeException e) {
+            logger.debug("Could not read grid status: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Get the shared client factory, creating it on first use
+     * @return client factory
+     */
+    private static SharedClientFactory clientFactory() {
+        SharedClientFactory factory = clientFactory;
+        if (factory == null) {
+            clientLock.lock();
+            try {
+                if (clientFactory == null) {
+                    URL gridUrl = config.getUrl("grid.url");
+                    if (gridUrl == null) {
+                        throw new IllegalStateException("grid.url must be set when driver.backend=remote");
+                    }
+                    clientFactory = new SharedClientFactory(ClientConfig.defaultConfig()
+                            .baseUrl(gridUrl)
+                            .connectionTimeout(config.getDuration(
+                                    "grid.connect.timeout.seconds", ChronoUnit.SECONDS, Duration.ofSeconds(10)))
+                            .readTimeout(config.getDuration(
+                                    "grid.read.timeout.seconds", ChronoUnit.SECONDS, Duration.ofSeconds(180))));
+                    logger.info("Using Selenium Grid at: {}", gridUrl);
+                }
+                factory = clientFactory;
+            } finally {
+                clientLock.unlock();
+            }
+        }
+        return factory;
+    }
+
+    /**
+     * Get the first line of a message
+     * @param message message, possibly multi-line
+     * @return first line
+     */
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "";
+        }
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+
+    /**
+     * Sleep between attempts
+     * @param millis time to sleep
+     */
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted while holding a grid session request");
+        }
+    }
+
+    /**
+     * Hands every session the same HTTP client so connections to the grid are pooled
+     */
+    private static class SharedClientFactory implements HttpClient.Factory {
+        private final ClientConfig clientConfig;
+        private final HttpClient shared;
+        private final HttpClient uncloseable;
+
+        SharedClientFactory(ClientConfig clientConfig) {
+            this.clientConfig = clientConfig;
+            this.shared = HttpClient.Factory.createDefault().createClient(clientConfig);
+            this.uncloseable = new HttpClient() {
+                @Override
+                public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+                    return shared.openSocket(request, listener);
+                }
+
+                @Override
+                public HttpResponse execute(HttpRequest request) {
+                    return shared.execute(request);
+                }
+
+                @Override
+                public void close() {
+                    // Shared by all sessions; closed by RemoteDriverFactory.shutdown()
+                }
+            };
+        }
+
+        @Override
+        public HttpClient createClient(ClientConfig config) {
+            return uncloseable;
+        }
+    }
+
+    /**
+     * Remote session that gives its queue slot back when it quits
+     */
+    private static class QueuedRemoteWebDriver extends RemoteWebDriver {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        QueuedRemoteWebDriver(CommandExecutor executor, Capabilities capabilities) {
+            super(executor, capabilities);
+        }
+
+        @Override
+        public void quit() {
+            try {
+                super.quit();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+
+        /**
+         * Quit a session that was abandoned before it was handed out, without returning a
+         * permit; the permit belongs to the request that gave up on it
+         */
+        void quitWithoutRelease() {
+            released.set(true);
+            quit();
+        }
+    }
+}
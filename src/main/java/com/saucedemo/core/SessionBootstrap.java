@@ -0,0 +1,75 @@
+package com.saucedemo.core;
+
+import com.saucedemo.pages.LoginPage;
+import com.saucedemo.utils.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Authentication fast path for tests that do not test login itself.
+ * Each worker thread logs in through the UI once per user, captures the resulting
+ * cookies and localStorage, and injects them into later sessions instead of
+ * driving the login form again.
+ */
+public class SessionBootstrap {
+    private static final Logger logger = LogManager.getLogger(SessionBootstrap.class);
+    private static final ConfigReader config = ConfigReader.getInstance();
+    private static final String INVENTORY_PATH = "inventory.html";
+    private static final boolean FAST_PATH_ENABLED = config.getBoolean("auth.fast.path", true);
+    private static final ThreadLocal<Map<String, BrowserState>> sessions = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private SessionBootstrap() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Put a session into the logged-in state for a configured user and open the inventory page.
+     * The session must be on base.url.
+     * @param driver WebDriver instance
+     * @param userKey user key in config.properties, e.g. "standard" for standard.user.username
+     * @throws IllegalStateException if the login form does not lead to the inventory page
+     */
+    public static void loginAs(WebDriver driver, String userKey) {
+        BrowserState state = FAST_PATH_ENABLED ? sessions.get().get(userKey) : null;
+        if (state != null) {
+            state.restore(driver);
+            driver.get(inventoryUrl());
+            if (driver.getCurrentUrl().contains(INVENTORY_PATH)) {
+                logger.info("Restored session for user: {}", userKey);
+                return;
+            }
+            logger.info("Stored session for user {} was rejected - logging in through the UI", userKey);
+            sessions.get().remove(userKey);
+            driver.get(config.getProperty("base.url"));
+        }
+
+        String username = config.getProperty(userKey + ".user.username");
+        String password = config.getProperty(userKey + ".user.password");
+        if (username == null || password == null) {
+            throw new IllegalArgumentException("No credentials configured for user: " + userKey);
+        }
+        if (!new LoginPage(driver).login(username, password).isOnProductsPage()) {
+            throw new IllegalStateException("Login through the UI failed for user: " + userKey);
+        }
+        if (FAST_PATH_ENABLED) {
+            sessions.get().put(userKey, BrowserState.capture(driver));
+            logger.info("Captured session for user: {}", userKey);
+        }
+    }
+
+    /**
+     * Get the URL of the inventory page
+     * @return inventory page URL
+     */
+    private static String inventoryUrl() {
+        return URI.create(config.getProperty("base.url")).resolve(INVENTORY_PATH).toString();
+    }
+}
@@ -0,0 +1,246 @@
+package com.saucedemo.core;
+
+import com.saucedemo.reporting.LatencyHistogram;
+import com.saucedemo.reporting.StepMetrics;
+import com.saucedemo.reporting.StepTimingAspect;
+import com.saucedemo.utils.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Owns all synchronization with the browser.
+ * Replaces the mix of implicit waits and WebDriverWait: conditions are polled with
+ * a back-off interval, timeouts can be overridden per call site, negative checks
+ * fail fast, and the time actually spent waiting is recorded per call site.
+ */
+public class WaitEngine {
+    private static final Logger logger = LogManager.getLogger(WaitEngine.class);
+    private static final ConfigReader config = ConfigReader.getInstance();
+    private static final Duration DEFAULT_TIMEOUT = config.getDuration(
+            "wait.timeout.seconds", ChronoUnit.SECONDS, Duration.ofSeconds(10));
+    private static final Duration NEGATIVE_TIMEOUT = config.getDuration(
+            "wait.negative.timeout.millis", ChronoUnit.MILLIS, Duration.ofMillis(500));
+    private static final long POLL_INITIAL_MILLIS = config.getLong("wait.poll.initial.millis", 50);
+    private static final long POLL_MAX_MILLIS = config.getLong("wait.poll.max.millis", 500);
+    private static final double POLL_BACKOFF = config.getDouble("wait.poll.backoff", 1.5);
+    private static final String CALL_SITE_TIMEOUT_PREFIX = "wait.timeout.";
+    private static final String CALL_SITE_NEGATIVE_TIMEOUT_PREFIX = "wait.negative.timeout.";
+    private static final String HISTOGRAM_FILE = "target/metrics/wait-times.csv";
+
+    private static final Map<String, Optional<Duration>> callSiteTimeouts = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+    private static final Pattern WOVEN_BODY_SUFFIX = Pattern.compile("_aroundBody\\d+$");
+
+    private final WebDriver driver;
+
+    /**
+     * Constructor
+     * @param driver WebDriver instance
+     */
+    public WaitEngine(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Wait until a condition returns a non-null, non-false value, using the
+     * timeout configured for the calling page method
+     * @param condition condition to evaluate
+     * @param <T> condition result type
+     * @return condition result
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        String callSite = callSite();
+        return until(condition, timeoutFor(CALL_SITE_TIMEOUT_PREFIX, ChronoUnit.SECONDS, callSite, DEFAULT_TIMEOUT),
+                callSite);
+    }
+
+    /**
+     * Wait until a condition returns a non-null, non-false value
+     * @param condition condition to evaluate
+     * @param timeout maximum time to wait
+     * @param <T> condition result type
+     * @return condition result
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public <T> T until(Function<? super WebDriver, T> condition, Duration timeout) {
+        return until(condition, timeout, callSite());
+    }
+
+    /**
+     * Check a condition that may legitimately be false, giving up after the short
+     * negative-check timeout. Only a wait.negative.timeout.&lt;Page&gt;.&lt;method&gt; override
+     * (in milliseconds) changes it; wait.timeout.* overrides apply to positive waits only
+     * @param condition condition to evaluate
+     * @return true if the condition was met before the timeout
+     */
+    public boolean isSatisfied(Function<? super WebDriver, Boolean> condition) {
+        String callSite = callSite();
+        try {
+            until(condition, timeoutFor(CALL_SITE_NEGATIVE_TIMEOUT_PREFIX, ChronoUnit.MILLIS, callSite,
+                    NEGATIVE_TIMEOUT), callSite);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Poll a condition with back-off until it is met or the timeout expires
+     * @param condition condition to evaluate
+     * @param timeout maximum time to wait
+     * @param callSite page method the wait was issued from
+     * @param <T> condition result type
+     * @return condition result
+     */
+    private <T> T until(Function<? super WebDriver, T> condition, Duration timeout, String callSite) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long pollMillis = POLL_INITIAL_MILLIS;
+        RuntimeException lastError = null;
+
+        try {
+            while (true) {
+                try {
+                    T value = condition.apply(driver);
+                    if (value != null && !Boolean.FALSE.equals(value)) {
+                        return value;
+                    }
+                } catch (NotFoundException | StaleElementReferenceException e) {
+                    lastError = e;
+                }
+
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    throw new TimeoutException(String.format("Expected condition failed: %s (tried for %d ms at %s)",
+                            condition, timeout.toMillis(), callSite), lastError);
+                }
+                sleep(Math.min(pollMillis, remainingMillis));
+                pollMillis = Math.min((long) (pollMillis * POLL_BACKOFF), POLL_MAX_MILLIS);
+            }
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            histograms.computeIfAbsent(callSite, key -> new LatencyHistogram())
+                    .record(TimeUnit.NANOSECONDS.toMillis(elapsed));
+            StepMetrics.recordWait(elapsed);
+        }
+    }
+
+    /**
+     * Get the timeout for a call site, honouring &lt;prefix&gt;&lt;Page&gt;.&lt;method&gt; overrides
+     * @param prefix override key prefix
+     * @param unit unit of override values without a suffix
+     * @param callSite page method the wait was issued from
+     * @param fallback timeout to use when there is no override
+     * @return timeout
+     */
+    private static Duration timeoutFor(String prefix, ChronoUnit unit, String callSite, Duration fallback) {
+        return callSiteTimeouts.computeIfAbsent(prefix + callSite, key -> Optional.ofNullable(
+                config.getDuration(key, unit, null))).orElse(fallback);
+    }
+
+    /**
+     * Find the first caller outside the framework's wait plumbing.
+     * Under the aspectjweaver agent a woven method's body runs as &lt;method&gt;_aroundBody&lt;n&gt;,
+     * called through $AjcClosure classes and the aspect; those frames map back to the page method.
+     * @return call site as SimpleClassName.method
+     */
+    private static String callSite() {
+        return stackWalker.walk(frames -> frames
+                .filter(frame -> !isPlumbing(frame.getClassName()))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    return className.substring(className.lastIndexOf('.') + 1) + "."
+                            + WOVEN_BODY_SUFFIX.matcher(frame.getMethodName()).replaceFirst("");
+                })
+                .orElse("unknown"));
+    }
+
+    /**
+     * Check whether a stack frame belongs to the wait plumbing or to AspectJ weaving
+     * @param className class of the frame
+     * @return true if the frame is not a call site
+     */
+    private static boolean isPlumbing(String className) {
+        return className.equals(WaitEngine.class.getName())
+                || className.equals(BasePage.class.getName())
+                || className.equals(StepTimingAspect.class.getName())
+                || className.contains("$AjcClosure")
+                || className.startsWith("org.aspectj.");
+    }
+
+    /**
+     * Sleep between polls
+     * @param millis time to sleep
+     */
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+
+    /**
+     * Get the wait-time histograms recorded so far
+     * @return histogram per call site
+     */
+    public static Map<String, LatencyHistogram> getHistograms() {
+        return histograms;
+    }
+
+    /**
+     * Write the per call site wait-time histograms to a CSV file and log the most expensive call sites
+     */
+    public static void exportHistograms() {
+        if (histograms.isEmpty()) {
+            return;
+        }
+        Path path = Paths.get(HISTOGRAM_FILE);
+        try {
+            Files.createDirectories(path.getParent());
+            try (Writer writer = Files.newBufferedWriter(path)) {
+                writer.write("call_site,count,total_ms,p50_ms,p95_ms,p99_ms,max_ms\n");
+                for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+                    LatencyHistogram histogram = entry.getValue();
+                    writer.write(String.format("%s,%d,%d,%d,%d,%d,%d%n", entry.getKey(), histogram.getCount(),
+                            histogram.getTotalMillis(), histogram.getPercentile(50), histogram.getPercentile(95),
+                            histogram.getPercentile(99), histogram.getMaxMillis()));
+                }
+            }
+            logger.info("Wait-time histogram written to: {}", path);
+        } catch (IOException e) {
+            logger.error("Failed to write wait-time histogram", e);
+        }
+
+        histograms.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().getTotalMillis()).reversed())
+                .limit(5)
+                .forEach(entry -> logger.info("Wait time at {}: total={}ms, count={}, p95={}ms",
+                        entry.getKey(), entry.getValue().getTotalMillis(), entry.getValue().getCount(),
+                        entry.getValue().getPercentile(95)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.saucedemo.pages;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of an item row on the Cart Page
+ */
+public class CartItemSnapshot {
+    private final String name;
+    private final BigDecimal price;
+    private final int quantity;
+
+    /**
+     * Constructor
+     * @param name item name
+     * @param price item price
+     * @param quantity item quantity
+     */
+    public CartItemSnapshot(String name, BigDecimal price, int quantity) {
+        this.name = name;
+        this.price = price;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Build a snapshot from a row extracted from the page
+     * @param row field name to text
+     * @return CartItemSnapshot instance
+     */
+    static CartItemSnapshot fromRow(Map<String, String> row) {
+        String quantity = row.get("quantity");
+        return new CartItemSnapshot(row.get("name"), Prices.parse(row.get("price")),
+                quantity == null || quantity.isEmpty() ? 0 : Integer.parseInt(quantity));
+    }
+
+    /**
+     * Get item name
+     * @return item name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get item price
+     * @return item price, or null if it could not be read
+     */
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    /**
+     * Get item quantity
+     * @return item quantity
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    @Override
+    public String toString() {
+        return quantity + " x " + name + " (" + price + ")";
+    }
+}
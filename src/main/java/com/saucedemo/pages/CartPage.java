@@ -1,12 +1,15 @@
 package com.saucedemo.pages;
 
 import com.saucedemo.core.BasePage;
+import com.saucedemo.core.DriverContext;
+import com.saucedemo.core.Locators;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -26,7 +29,19 @@ public class CartPage extends BasePage {
     @FindBy(id = "continue-shopping")
     private WebElement continueShoppingButton;
 
-    private final String removeButtonFormat = "//div[text()='%s']/ancestor::div[@class='cart_item']//button";
+    private static final Map<String, String> CART_ITEM_FIELDS = fields(
+            "name", ".inventory_item_name",
+            "price", ".inventory_item_price",
+            "quantity", ".cart_quantity");
+
+    private static final String REMOVE_BUTTON_FORMAT = "//div[text()='%s']/ancestor::div[@class='cart_item']//button";
+
+    /**
+     * Constructor using the WebDriver bound to the current test thread
+     */
+    public CartPage() {
+        this(DriverContext.requireDriver());
+    }
 
     /**
      * Constructor
@@ -64,15 +79,25 @@ public class CartPage extends BasePage {
         return cartItems.size();
     }
 
+    /**
+     * Get a snapshot of all cart items in a single round trip
+     * @return list of cart items in display order
+     */
+    public List<CartItemSnapshot> getCartItems() {
+        logger.info("Getting all cart items");
+        return extractAll(".cart_item", CART_ITEM_FIELDS).stream()
+                .map(CartItemSnapshot::fromRow)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Get all cart item names
      * @return list of cart item names
      */
     public List<String> getAllCartItemNames() {
         logger.info("Getting all cart item names");
-        return cartItems.stream()
-                .map(item -> item.findElement(By.className("inventory_item_name")))
-                .map(WebElement::getText)
+        return getCartItems().stream()
+                .map(CartItemSnapshot::getName)
                 .collect(Collectors.toList());
     }
 
@@ -83,7 +108,7 @@ public class CartPage extends BasePage {
      */
     public CartPage removeItem(String itemName) {
         logger.info("Removing item from cart: {}", itemName);
-        By removeButton = By.xpath(String.format(removeButtonFormat, itemName));
+        By removeButton = Locators.xpath(REMOVE_BUTTON_FORMAT, itemName);
         click(removeButton);
         return this;
     }
@@ -95,7 +120,7 @@ public class CartPage extends BasePage {
     public CheckoutPage proceedToCheckout() {
         logger.info("Proceeding to checkout");
         click(checkoutButton);
-        return new CheckoutPage(driver);
+        return page(CheckoutPage.class);
     }
 
     /**
@@ -105,6 +130,6 @@ public class CartPage extends BasePage {
     public ProductsPage continueShopping() {
         logger.info("Continuing shopping");
         click(continueShoppingButton);
-        return new ProductsPage(driver);
+        return page(ProductsPage.class);
     }
 }
\ No newline at end of file
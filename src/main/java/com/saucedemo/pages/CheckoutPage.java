@@ -1,6 +1,7 @@
 package com.saucedemo.pages;
 
 import com.saucedemo.core.BasePage;
+import com.saucedemo.core.DriverContext;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -37,6 +38,13 @@ public class CheckoutPage extends BasePage {
     @FindBy(className = "complete-header")
     private WebElement orderCompleteHeader;
 
+    /**
+     * Constructor using the WebDriver bound to the current test thread
+     */
+    public CheckoutPage() {
+        this(DriverContext.requireDriver());
+    }
+
     /**
      * Constructor
      * @param driver WebDriver instance
@@ -120,7 +128,7 @@ public class CheckoutPage extends BasePage {
     public CartPage clickCancel() {
         logger.info("Clicking cancel button");
         click(cancelButton);
-        return new CartPage(driver);
+        return page(CartPage.class);
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.saucedemo.pages;
 
 import com.saucedemo.core.BasePage;
+import com.saucedemo.core.DriverContext;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -22,6 +23,13 @@ public class LoginPage extends BasePage {
     @FindBy(css = "h3[data-test='error']")
     private WebElement errorMessage;
 
+    /**
+     * Constructor using the WebDriver bound to the current test thread
+     */
+    public LoginPage() {
+        this(DriverContext.requireDriver());
+    }
+
     /**
      * Constructor
      * @param driver WebDriver instance
@@ -60,7 +68,7 @@ public class LoginPage extends BasePage {
     public ProductsPage clickLoginButton() {
         logger.info("Clicking login button");
         click(loginButton);
-        return new ProductsPage(driver);
+        return page(ProductsPage.class);
     }
 
     /**
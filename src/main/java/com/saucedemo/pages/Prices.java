@@ -0,0 +1,29 @@
+package com.saucedemo.pages;
+
+import java.math.BigDecimal;
+
+/**
+ * Parsing of prices as displayed on the site, e.g. "$29.99"
+ */
+final class Prices {
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private Prices() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Parse a displayed price
+     * @param text price text
+     * @return price, or null if the text is not a price
+     */
+    static BigDecimal parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        String digits = text.replaceAll("[^0-9.]", "");
+        return digits.isEmpty() ? null : new BigDecimal(digits);
+    }
+}
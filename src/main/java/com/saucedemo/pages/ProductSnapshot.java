@@ -0,0 +1,71 @@
+package com.saucedemo.pages;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of a product card on the Products Page
+ */
+public class ProductSnapshot {
+    private final String name;
+    private final BigDecimal price;
+    private final String buttonText;
+
+    /**
+     * Constructor
+     * @param name product name
+     * @param price product price
+     * @param buttonText text of the add/remove button
+     */
+    public ProductSnapshot(String name, BigDecimal price, String buttonText) {
+        this.name = name;
+        this.price = price;
+        this.buttonText = buttonText;
+    }
+
+    /**
+     * Build a snapshot from a row extracted from the page
+     * @param row field name to text
+     * @return ProductSnapshot instance
+     */
+    static ProductSnapshot fromRow(Map<String, String> row) {
+        return new ProductSnapshot(row.get("name"), Prices.parse(row.get("price")), row.get("button"));
+    }
+
+    /**
+     * Get product name
+     * @return product name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get product price
+     * @return product price, or null if it could not be read
+     */
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    /**
+     * Get text of the add/remove button
+     * @return button text
+     */
+    public String getButtonText() {
+        return buttonText;
+    }
+
+    /**
+     * Check if the product is in the cart
+     * @return true if the button offers to remove the product
+     */
+    public boolean isInCart() {
+        return "Remove".equalsIgnoreCase(buttonText);
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + price + ")";
+    }
+}
@@ -1,12 +1,14 @@
 package com.saucedemo.pages;
 
 import com.saucedemo.core.BasePage;
-import org.openqa.selenium.By;
+import com.saucedemo.core.DriverContext;
+import com.saucedemo.core.Locators;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -32,7 +34,21 @@ public class ProductsPage extends BasePage {
     @FindBy(className = "product_sort_container")
     private WebElement sortDropdown;
 
-    private final String addToCartButtonFormat = "//div[text()='%s']/ancestor::div[@class='inventory_item']//button";
+    private static final Map<String, String> PRODUCT_FIELDS = fields(
+            "name", ".inventory_item_name",
+            "price", ".inventory_item_price",
+            "button", "button");
+
+    private static final String ADD_TO_CART_BUTTON_FORMAT =
+            "//div[text()='%s']/ancestor::div[@class='inventory_item']//button";
+    private static final String SORT_OPTION_FORMAT = "//option[text()='%s']";
+
+    /**
+     * Constructor using the WebDriver bound to the current test thread
+     */
+    public ProductsPage() {
+        this(DriverContext.requireDriver());
+    }
 
     /**
      * Constructor
@@ -71,15 +87,25 @@ public class ProductsPage extends BasePage {
         return inventoryItems.size();
     }
 
+    /**
+     * Get a snapshot of all products in a single round trip
+     * @return list of products in display order
+     */
+    public List<ProductSnapshot> getProducts() {
+        logger.info("Getting all products");
+        return extractAll(".inventory_item", PRODUCT_FIELDS).stream()
+                .map(ProductSnapshot::fromRow)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Get all product names
      * @return list of product names
      */
     public List<String> getAllProductNames() {
         logger.info("Getting all product names");
-        return inventoryItems.stream()
-                .map(item -> item.findElement(By.className("inventory_item_name")))
-                .map(WebElement::getText)
+        return getProducts().stream()
+                .map(ProductSnapshot::getName)
                 .collect(Collectors.toList());
     }
 
@@ -90,8 +116,7 @@ public class ProductsPage extends BasePage {
      */
     public ProductsPage addProductToCart(String productName) {
         logger.info("Adding product to cart: {}", productName);
-        By addToCartButton = By.xpath(String.format(addToCartButtonFormat, productName));
-        click(addToCartButton);
+        click(Locators.xpath(ADD_TO_CART_BUTTON_FORMAT, productName));
         return this;
     }
 
@@ -102,7 +127,7 @@ public class ProductsPage extends BasePage {
     public CartPage openCart() {
         logger.info("Opening cart");
         click(cartIcon);
-        return new CartPage(driver);
+        return page(CartPage.class);
     }
 
     /**
@@ -124,7 +149,7 @@ public class ProductsPage extends BasePage {
         openMenu();
         waitForVisibility(logoutLink);
         click(logoutLink);
-        return new LoginPage(driver);
+        return page(LoginPage.class);
     }
 
     /**
@@ -135,7 +160,7 @@ public class ProductsPage extends BasePage {
     public ProductsPage sortProductsBy(String sortOption) {
         logger.info("Sorting products by: {}", sortOption);
         click(sortDropdown);
-        click(By.xpath("//option[text()='" + sortOption + "']"));
+        click(Locators.xpath(SORT_OPTION_FORMAT, sortOption));
         return this;
     }
 }
\ No newline at end of file
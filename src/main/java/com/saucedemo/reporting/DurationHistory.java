@@ -0,0 +1,198 @@
+package com.saucedemo.reporting;
+
+import com.saucedemo.utils.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only history of test durations, keyed by class#method|browser.
+ * Each line is "key&lt;TAB&gt;millis". Estimates are an exponentially weighted average
+ * of past runs, so recent runs count most. The file (test.history.file) is meant
+ * to be cached between CI runs. New durations are appended to test.history.output
+ * when set, e.g. so sharded CI nodes can report them separately, and to the history
+ * file otherwise.
+ */
+public class DurationHistory {
+    private static final Logger logger = LogManager.getLogger(DurationHistory.class);
+    private static final ConfigReader config = ConfigReader.getInstance();
+    private static final Path HISTORY_FILE =
+            Paths.get(config.getProperty("test.history.file", "target/test-durations.log"));
+    private static final Path OUTPUT_FILE = config.getProperty("test.history.output", "").isEmpty()
+            ? HISTORY_FILE : Paths.get(config.getProperty("test.history.output"));
+    private static final double SMOOTHING = 0.3;
+    private static final int COMPACT_LINES_PER_KEY = 20;
+    private static final String DEFAULT_BROWSER = "chrome";
+
+    private static final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private static final ReentrantLock lock = new ReentrantLock();
+    private static volatile Map<String, Long> estimates;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private DurationHistory() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Build the history key for a test method
+     * @param method test method
+     * @param browser browser parameter of the test, or null for the default
+     * @return key in the form class#method|browser
+     */
+    public static String keyFor(ITestNGMethod method, String browser) {
+        return method.getRealClass().getName() + "#" + method.getMethodName()
+                + "|" + (browser == null ? DEFAULT_BROWSER : browser);
+    }
+
+    /**
+     * Queue the duration of a finished test for the history file
+     * @param result test result
+     */
+    public static void record(ITestResult result) {
+        long millis = result.getEndMillis() - result.getStartMillis();
+        if (millis < 0) {
+            return;
+        }
+        String browser = result.getTestContext().getCurrentXmlTest().getParameter("browser");
+        pending.add(keyFor(result.getMethod(), browser) + "\t" + millis);
+    }
+
+    /**
+     * Append queued durations to the output file
+     */
+    public static void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (OUTPUT_FILE.getParent() != null) {
+                Files.createDirectories(OUTPUT_FILE.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(OUTPUT_FILE,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                String line;
+                while ((line = pending.poll()) != null) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write test duration history: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the estimated duration of a test
+     * @param key key from {@link #keyFor(ITestNGMethod, String)}
+     * @return estimate in milliseconds, or empty if the test has no history
+     */
+    public static OptionalLong estimateMillis(String key) {
+        Long estimate = loadEstimates().get(key);
+        return estimate == null ? OptionalLong.empty() : OptionalLong.of(estimate);
+    }
+
+    /**
+     * Get all estimates
+     * @return estimate in milliseconds per key
+     */
+    public static Map<String, Long> getEstimates() {
+        return loadEstimates();
+    }
+
+    /**
+     * Read the history file once per JVM, compacting it when it has grown large
+     * @return estimate per key
+     */
+    private static Map<String, Long> loadEstimates() {
+        Map<String, Long> loaded = estimates;
+        if (loaded != null) {
+            return loaded;
+        }
+        lock.lock();
+        try {
+            if (estimates == null) {
+                estimates = readEstimates();
+            }
+            return estimates;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Parse the history file into smoothed estimates
+     * @return estimate per key
+     */
+    private static Map<String, Long> readEstimates() {
+        Map<String, Double> smoothed = new HashMap<>();
+        if (!Files.exists(HISTORY_FILE)) {
+            return Map.of();
+        }
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(HISTORY_FILE);
+        } catch (IOException e) {
+            logger.warn("Failed to read test duration history: {}", e.getMessage());
+            return Map.of();
+        }
+        for (String line : lines) {
+            int tab = line.lastIndexOf('\t');
+            if (tab <= 0) {
+                continue;
+            }
+            try {
+                double millis = Long.parseLong(line.substring(tab + 1).trim());
+                smoothed.merge(line.substring(0, tab), millis,
+                        (previous, latest) -> previous + SMOOTHING * (latest - previous));
+            } catch (NumberFormatException e) {
+                logger.debug("Skipping malformed history line: {}", line);
+            }
+        }
+
+        Map<String, Long> result = new HashMap<>();
+        smoothed.forEach((key, millis) -> result.put(key, Math.round(millis)));
+        if (lines.size() > result.size() * COMPACT_LINES_PER_KEY) {
+            compact(result);
+        }
+        logger.info("Loaded duration history for {} test(s) from: {}", result.size(), HISTORY_FILE);
+        return Map.copyOf(result);
+    }
+
+    /**
+     * Rewrite the history file with one line per key
+     * @param result estimate per key
+     */
+    private static void compact(Map<String, Long> result) {
+        List<String> lines = new ArrayList<>();
+        result.forEach((key, millis) -> lines.add(key + "\t" + millis));
+        try {
+            Path temp = Files.createTempFile(HISTORY_FILE.toAbsolutePath().getParent(), "test-durations", ".tmp");
+            Files.write(temp, lines);
+            Files.move(temp, HISTORY_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to compact test duration history: {}", e.getMessage());
+        }
+    }
+}
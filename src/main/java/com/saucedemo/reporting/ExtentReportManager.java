@@ -2,22 +2,66 @@ package com.saucedemo.reporting;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.Markup;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.JsonFormatter;
+import com.saucedemo.utils.ConfigReader;
+import com.saucedemo.utils.VirtualThreads;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.testng.ITestResult;
+import org.testng.Reporter;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
- * Manager for ExtentReports
+ * Manager for ExtentReports.
+ * Test threads never touch the ExtentReports model directly: every mutation is
+ * queued as an event and applied by a single background writer thread, which also
+ * performs the periodic incremental flush and the final flush.
+ * With report.mode=stream, each test is written to an NDJSON file and dropped from
+ * the model when it ends, and the HTML report is rendered from that file at the end.
  */
 public class ExtentReportManager {
     private static final Logger logger = LogManager.getLogger(ExtentReportManager.class);
-    private static ExtentReports extent;
-    private static final Map<Long, ExtentTest> testMap = new HashMap<>();
+    private static volatile ExtentReports extent;
+    private static volatile ScheduledExecutorService writer;
+    private static final Map<String, CompletableFuture<ExtentTest>> testMap = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<ExtentTest>> rowGroups = new ConcurrentHashMap<>();
+    private static final AtomicBoolean dirty = new AtomicBoolean();
+    // A lock rather than synchronized so virtual threads waiting here do not pin their carrier
+    private static final ReentrantLock initLock = new ReentrantLock();
     private static final String REPORT_PATH = "target/extent-reports/";
     private static final String REPORT_FILE = "test-report.html";
+    // JSON archive of the report, used by ReportMerger to combine shards
+    private static final String REPORT_ARCHIVE_FILE = "test-report.json";
+    private static final String REPORT_STREAM_FILE = "test-report.ndjson";
+    private static final long FINAL_FLUSH_TIMEOUT_SECONDS = 120;
+    private static final boolean STREAM = "stream".equalsIgnoreCase(
+            ConfigReader.getInstance().getProperty("report.mode", "extent"));
+    // Screenshots still being written, per invocation; a streamed test is written once they are attached
+    private static final Map<String, List<CompletableFuture<?>>> pendingCaptures = new ConcurrentHashMap<>();
+    // Only touched on the writer thread
+    private static final Map<String, String> systemInfo = new LinkedHashMap<>();
+    private static StreamingReportWriter streamWriter;
 
     /**
      * Private constructor to prevent instantiation
@@ -27,56 +71,347 @@ public class ExtentReportManager {
     }
 
     /**
-     * Initialize ExtentReports
+     * Initialize ExtentReports and start the report writer
      */
-    public static synchronized void initReports() {
+    public static void initReports() {
+        initLock.lock();
+        try {
+            initReportsLocked();
+        } finally {
+            initLock.unlock();
+        }
+    }
+
+    /**
+     * Initialize ExtentReports once; the caller holds the init lock
+     */
+    private static void initReportsLocked() {
         if (extent == null) {
             // Create directory if it doesn't exist
             java.io.File directory = new java.io.File(REPORT_PATH);
             if (!directory.exists()) {
                 directory.mkdirs();
             }
-            
-            ExtentSparkReporter sparkReporter = new ExtentSparkReporter(REPORT_PATH + REPORT_FILE);
-            sparkReporter.config().setDocumentTitle("SauceDemo Test Report");
-            sparkReporter.config().setReportName("SauceDemo Automation Test Results");
-            
-            extent = new ExtentReports();
-            extent.attachReporter(sparkReporter);
-            extent.setSystemInfo("OS", System.getProperty("os.name"));
-            extent.setSystemInfo("Java Version", System.getProperty("java.version"));
-            
-            logger.info("Extent Reports initialized");
+
+            ExtentReports reports = new ExtentReports();
+            if (STREAM) {
+                try {
+                    streamWriter = new StreamingReportWriter(Paths.get(REPORT_PATH, REPORT_STREAM_FILE));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to open the report stream", e);
+                }
+            } else {
+                ExtentSparkReporter sparkReporter = new ExtentSparkReporter(REPORT_PATH + REPORT_FILE);
+                sparkReporter.config().setDocumentTitle("SauceDemo Test Report");
+                sparkReporter.config().setReportName("SauceDemo Automation Test Results");
+                reports.attachReporter(sparkReporter, new JsonFormatter(REPORT_PATH + REPORT_ARCHIVE_FILE));
+            }
+
+            // Streamed tests are already on disk, so only the Extent model needs periodic flushes
+            long flushInterval = STREAM ? 0 : ConfigReader.getInstance().getLong("report.flush.interval.seconds", 30);
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                    VirtualThreads.factory("extent-report-writer-"));
+            if (flushInterval > 0) {
+                executor.scheduleWithFixedDelay(ExtentReportManager::flushIfDirty,
+                        flushInterval, flushInterval, TimeUnit.SECONDS);
+            }
+
+            writer = executor;
+            extent = reports;
+            setSystemInfo("OS", System.getProperty("os.name"));
+            setSystemInfo("Java Version", System.getProperty("java.version"));
+            logger.info("Extent Reports initialized ({} mode)", STREAM ? "stream" : "extent");
         }
     }
 
     /**
-     * Flush reports
+     * Drain all pending report events and write the final report
      */
-    public static synchronized void flushReports() {
-        if (extent != null) {
-            extent.flush();
+    public static void flushReports() {
+        ScheduledExecutorService executor = writer;
+        if (executor == null) {
+            return;
+        }
+        try {
+            executor.submit(() -> {
+                if (STREAM) {
+                    finishStream();
+                } else {
+                    extent.flush();
+                }
+                dirty.set(false);
+            }).get(FINAL_FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
             logger.info("Extent Reports flushed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while flushing Extent Reports", e);
+        } catch (ExecutionException | TimeoutException e) {
+            logger.error("Failed to flush Extent Reports", e);
         }
     }
 
     /**
-     * Create a test in the report
+     * Add system information to the report
+     * @param key information name
+     * @param value information value
+     */
+    public static void setSystemInfo(String key, String value) {
+        submit(() -> {
+            if (STREAM) {
+                systemInfo.put(key, value);
+            } else {
+                extent.setSystemInfo(key, value);
+            }
+        });
+    }
+
+    /**
+     * Create a test in the report for the invocation currently running on this thread
      * @param testName name of test
-     * @return ExtentTest instance
+     * @return ExtentTest instance or null if reports are not initialized
+     */
+    public static ExtentTest createTest(String testName) {
+        CompletableFuture<ExtentTest> test = createTest(currentKey(), testName);
+        return test == null ? null : test.join();
+    }
+
+    /**
+     * Create a test in the report for a test invocation, unless one already exists
+     * @param result test result identifying the invocation
+     * @param testName name of test
+     */
+    public static void createTest(ITestResult result, String testName) {
+        if (!testMap.containsKey(result.id())) {
+            createTest(result.id(), testName);
+        }
+    }
+
+    /**
+     * Report a data set row on one node shared by all rows of its test method, so large
+     * data sets add log entries rather than nodes. In stream mode each row gets its own
+     * node instead, since finished nodes are written out and dropped anyway.
+     * @param result test result identifying the row invocation
+     * @param groupKey key of the test method, e.g. class#method
+     * @param groupName name of the shared node
+     * @param rowName name of the row's own node in stream mode
+     */
+    public static void createRowTest(ITestResult result, String groupKey, String groupName, String rowName) {
+        if (STREAM) {
+            createTest(result, rowName);
+            return;
+        }
+        if (!testMap.containsKey(result.id())) {
+            CompletableFuture<ExtentTest> group = rowGroups.computeIfAbsent(groupKey, key -> newTest(groupName));
+            if (group != null) {
+                testMap.put(result.id(), group);
+            }
+        }
+    }
+
+    /**
+     * Get the test for the invocation currently running on this thread
+     * @return ExtentTest instance or null if none was created
+     */
+    public static ExtentTest getTest() {
+        CompletableFuture<ExtentTest> test = testMap.get(currentKey());
+        return test == null ? null : test.join();
+    }
+
+    /**
+     * Log a message on the test for an invocation
+     * @param result test result identifying the invocation
+     * @param status log status
+     * @param details message to log
+     */
+    public static void log(ITestResult result, Status status, String details) {
+        onTest(result, test -> test.log(status, details));
+    }
+
+    /**
+     * Log markup such as a table on the test for an invocation
+     * @param result test result identifying the invocation
+     * @param status log status
+     * @param markup markup to log
+     */
+    public static void log(ITestResult result, Status status, Markup markup) {
+        onTest(result, test -> test.log(status, markup));
+    }
+
+    /**
+     * Log a throwable on the test for an invocation
+     * @param result test result identifying the invocation
+     * @param status log status
+     * @param throwable throwable to log
+     */
+    public static void log(ITestResult result, Status status, Throwable throwable) {
+        onTest(result, test -> test.log(status, throwable));
+    }
+
+    /**
+     * Attach a screenshot to the test for an invocation
+     * @param result test result identifying the invocation
+     * @param screenshotPath path to the screenshot file
+     */
+    public static void addScreenCapture(ITestResult result, String screenshotPath) {
+        onTest(result, test -> test.addScreenCaptureFromPath(screenshotPath));
+    }
+
+    /**
+     * Attach a screenshot that is still being written to the test for an invocation
+     * @param result test result identifying the invocation
+     * @param screenshotPath future completed with the path to the screenshot file
      */
-    public static synchronized ExtentTest createTest(String testName) {
-        ExtentTest test = extent.createTest(testName);
-        testMap.put(Thread.currentThread().getId(), test);
-        logger.info("Created test in Extent Reports: {}", testName);
+    public static void addScreenCapture(ITestResult result, CompletionStage<String> screenshotPath) {
+        CompletableFuture<ExtentTest> test = testMap.get(result.id());
+        if (test == null) {
+            logger.warn("No Extent test registered for invocation {}", result.id());
+            return;
+        }
+        CompletableFuture<Void> attached = screenshotPath.thenAccept(path -> {
+            if (path != null) {
+                submit(() -> test.join().addScreenCaptureFromPath(path));
+            }
+        }).toCompletableFuture();
+        if (STREAM) {
+            pendingCaptures.computeIfAbsent(result.id(), id -> new CopyOnWriteArrayList<>()).add(attached);
+        }
+    }
+
+    /**
+     * Stop tracking an invocation once its final status has been logged
+     * @param result test result identifying the invocation
+     */
+    public static void endTest(ITestResult result) {
+        CompletableFuture<ExtentTest> test = testMap.remove(result.id());
+        if (!STREAM || test == null) {
+            return;
+        }
+        List<CompletableFuture<?>> captures = pendingCaptures.remove(result.id());
+        CompletableFuture<?> ready = captures == null ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.allOf(captures.toArray(new CompletableFuture[0]));
+        // Queued behind the screenshot events, so the record includes them
+        ready.whenComplete((ignored, error) -> submit(() -> streamTest(test.join())));
+    }
+
+    /**
+     * Create a test and register it under a key
+     * @param key invocation key
+     * @param testName name of test
+     * @return future completed by the writer once the test exists, or null if the creation was not queued
+     */
+    private static CompletableFuture<ExtentTest> createTest(String key, String testName) {
+        CompletableFuture<ExtentTest> test = newTest(testName);
+        if (test != null) {
+            testMap.put(key, test);
+        }
         return test;
     }
 
     /**
-     * Get the current test
-     * @return ExtentTest instance
+     * Queue the creation of a test
+     * @param testName name of test
+     * @return future completed by the writer once the test exists, or null if reports are not initialized
+     */
+    private static CompletableFuture<ExtentTest> newTest(String testName) {
+        CompletableFuture<ExtentTest> test = new CompletableFuture<>();
+        if (!submit(() -> test.complete(extent.createTest(testName)))) {
+            return null;
+        }
+        logger.debug("Queued test creation in Extent Reports: {}", testName);
+        return test;
+    }
+
+    /**
+     * Queue an action against the test for an invocation
+     * @param result test result identifying the invocation
+     * @param action action to apply on the writer thread
+     */
+    private static void onTest(ITestResult result, Consumer<ExtentTest> action) {
+        onTest(result.id(), action);
+    }
+
+    /**
+     * Queue an action against the test registered under a key
+     * @param key invocation key
+     * @param action action to apply on the writer thread
+     */
+    private static void onTest(String key, Consumer<ExtentTest> action) {
+        CompletableFuture<ExtentTest> test = testMap.get(key);
+        if (test == null) {
+            logger.warn("No Extent test registered for invocation {}", key);
+            return;
+        }
+        submit(() -> action.accept(test.join()));
+    }
+
+    /**
+     * Queue a report mutation on the writer thread
+     * @param event mutation to apply
+     * @return true if the event was queued
+     */
+    private static boolean submit(Runnable event) {
+        ScheduledExecutorService executor = writer;
+        if (executor == null) {
+            logger.warn("Extent Reports not initialized - dropping report event");
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                event.run();
+                dirty.set(true);
+            } catch (RuntimeException e) {
+                logger.error("Failed to apply report event", e);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Write a finished test to the stream and drop it from the Extent model, on the writer thread
+     * @param test finished test
+     */
+    private static void streamTest(ExtentTest test) {
+        if (test == null) {
+            return;
+        }
+        try {
+            streamWriter.write(test.getModel());
+        } catch (IOException e) {
+            logger.error("Failed to stream test {}", test.getModel().getName(), e);
+        }
+        extent.removeTest(test);
+    }
+
+    /**
+     * Close the stream and render the HTML report from it, on the writer thread
+     */
+    private static void finishStream() {
+        try {
+            streamWriter.writeSystemInfo(systemInfo);
+            streamWriter.close();
+            StreamingReportWriter.renderHtml(List.of(Paths.get(REPORT_PATH, REPORT_STREAM_FILE)),
+                    Paths.get(REPORT_PATH, REPORT_FILE), "SauceDemo Automation Test Results");
+        } catch (IOException e) {
+            logger.error("Failed to write the streamed report", e);
+        }
+    }
+
+    /**
+     * Incremental flush, run periodically on the writer thread
+     */
+    private static void flushIfDirty() {
+        if (dirty.compareAndSet(true, false)) {
+            extent.flush();
+            logger.debug("Extent Reports flushed incrementally");
+        }
+    }
+
+    /**
+     * Get the key of the invocation running on this thread
+     * @return invocation key
      */
-    public static synchronized ExtentTest getTest() {
-        return testMap.get(Thread.currentThread().getId());
+    private static String currentKey() {
+        ITestResult result = Reporter.getCurrentTestResult();
+        return result != null ? result.id() : "thread-" + Thread.currentThread().getId();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package com.saucedemo.reporting;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe, fixed-bucket latency histogram in milliseconds.
+ * Buckets follow a 1-2-5 series so percentiles are approximate (reported as the
+ * upper bound of the bucket they fall into) but recording is allocation-free.
+ */
+public class LatencyHistogram {
+    private static final long[] BUCKET_BOUNDS = {
+            1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 20_000, 50_000, 100_000, Long.MAX_VALUE
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_BOUNDS.length);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMillis = new LongAdder();
+    private final AtomicLong maxMillis = new AtomicLong();
+
+    /**
+     * Record a sample
+     * @param millis sample value in milliseconds
+     */
+    public void record(long millis) {
+        long value = Math.max(0, millis);
+        int bucket = 0;
+        while (value > BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        counts.incrementAndGet(bucket);
+        count.increment();
+        totalMillis.add(value);
+        maxMillis.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Get the number of samples
+     * @return sample count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get the sum of all samples
+     * @return total in milliseconds
+     */
+    public long getTotalMillis() {
+        return totalMillis.sum();
+    }
+
+    /**
+     * Get the largest sample
+     * @return maximum in milliseconds
+     */
+    public long getMaxMillis() {
+        return maxMillis.get();
+    }
+
+    /**
+     * Get an approximate percentile
+     * @param percentile percentile between 0 and 100
+     * @return upper bound of the bucket containing the percentile, capped at the maximum sample
+     */
+    public long getPercentile(double percentile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(BUCKET_BOUNDS[i], getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+}
@@ -0,0 +1,208 @@
+package com.saucedemo.reporting;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Startup time and process memory of every browser session, per launch profile.
+ * Memory is the summed resident set size of the browser and its child processes,
+ * sampled after launch and again before quit. It can only be measured for local
+ * browsers on Linux and is reported as -1 otherwise. Rows are appended to
+ * target/metrics/launch-profiles.csv so runs with different profiles can be compared.
+ */
+public class LaunchMetrics {
+    private static final Logger logger = LogManager.getLogger(LaunchMetrics.class);
+    private static final Path CSV_FILE = Paths.get("target/metrics/launch-profiles.csv");
+    private static final String CSV_HEADER = "run,browser,profile,backend,startup_ms,rss_launch_kb,rss_quit_kb";
+    private static final String RUN_ID = Instant.now().toString();
+    private static final Queue<Session> finished = new ConcurrentLinkedQueue<>();
+    private static final ReentrantLock exportLock = new ReentrantLock();
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private LaunchMetrics() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Record a session that has just started
+     * @param browser browser type
+     * @param profile launch profile name
+     * @param backend driver backend (local or remote)
+     * @param startupNanos time taken to start the session
+     * @param marker command-line argument unique to the browser process, or null if it cannot be found
+     * @return session record to pass to {@link #quit(Session)}
+     */
+    public static Session launched(String browser, String profile, String backend, long startupNanos, String marker) {
+        Session session = new Session(browser, profile, backend, TimeUnit.NANOSECONDS.toMillis(startupNanos));
+        session.process = marker == null ? Optional.empty() : findBrowserProcess(marker);
+        session.rssLaunchKb = residentKb(session.process);
+        logger.info("Started {} ({} profile) in {} ms, RSS {} kB",
+                browser, profile, session.startupMillis, session.rssLaunchKb);
+        return session;
+    }
+
+    /**
+     * Sample memory of a session that is about to quit
+     * @param session session record from {@link #launched(String, String, String, long, String)}
+     */
+    public static void quit(Session session) {
+        session.rssQuitKb = residentKb(session.process);
+        finished.add(session);
+    }
+
+    /**
+     * Get launch metrics as key/value pairs for the report
+     * @return map of metric name to value
+     */
+    public static Map<String, String> getMetrics() {
+        Map<String, String> metrics = new LinkedHashMap<>();
+        List<Session> sessions = List.copyOf(finished);
+        if (sessions.isEmpty()) {
+            return metrics;
+        }
+        metrics.put("Launch Profile", sessions.get(0).profile);
+        metrics.put("Launch Startup Avg (ms)", String.valueOf(Math.round(
+                sessions.stream().mapToLong(s -> s.startupMillis).average().orElse(0))));
+        sessions.stream().mapToLong(s -> Math.max(s.rssLaunchKb, s.rssQuitKb)).filter(kb -> kb >= 0).average()
+                .ifPresent(kb -> metrics.put("Launch Peak RSS Avg (MB)", String.valueOf(Math.round(kb / 1024))));
+        return metrics;
+    }
+
+    /**
+     * Append the sessions that have quit to the CSV file
+     */
+    public static void export() {
+        if (finished.isEmpty()) {
+            return;
+        }
+        exportLock.lock();
+        try {
+            Files.createDirectories(CSV_FILE.getParent());
+            boolean header = !Files.exists(CSV_FILE);
+            try (BufferedWriter writer = Files.newBufferedWriter(CSV_FILE,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (header) {
+                    writer.write(CSV_HEADER);
+                    writer.newLine();
+                }
+                Session session;
+                while ((session = finished.poll()) != null) {
+                    writer.write(String.join(",", RUN_ID, session.browser, session.profile, session.backend,
+                            String.valueOf(session.startupMillis), String.valueOf(session.rssLaunchKb),
+                            String.valueOf(session.rssQuitKb)));
+                    writer.newLine();
+                }
+            }
+            logger.info("Launch metrics written to: {}", CSV_FILE);
+        } catch (IOException e) {
+            logger.warn("Failed to write launch metrics: {}", e.getMessage());
+        } finally {
+            exportLock.unlock();
+        }
+    }
+
+    /**
+     * Find the browser process started by this JVM's driver services
+     * @param marker command-line argument unique to the browser process
+     * @return top-most descendant process carrying the marker
+     */
+    private static Optional<ProcessHandle> findBrowserProcess(String marker) {
+        return ProcessHandle.current().descendants()
+                .filter(process -> hasArgument(process, marker))
+                .filter(process -> process.parent().map(parent -> !hasArgument(parent, marker)).orElse(true))
+                .findFirst();
+    }
+
+    /**
+     * Check a process's command line for an argument
+     * @param process process
+     * @param argument argument to look for
+     * @return true if the process was started with the argument
+     */
+    private static boolean hasArgument(ProcessHandle process, String argument) {
+        return process.info().arguments().map(args -> Arrays.asList(args).contains(argument)).orElse(false);
+    }
+
+    /**
+     * Sum the resident set size of a process and its descendants
+     * @param process root process
+     * @return RSS in kB, or -1 if it cannot be read
+     */
+    private static long residentKb(Optional<ProcessHandle> process) {
+        if (process.isEmpty() || !process.get().isAlive()) {
+            return -1;
+        }
+        long total = 0;
+        List<ProcessHandle> tree = Stream.concat(process.stream(), process.get().descendants())
+                .collect(Collectors.toList());
+        for (ProcessHandle handle : tree) {
+            long kb = residentKb(handle.pid());
+            if (kb < 0) {
+                return -1;
+            }
+            total += kb;
+        }
+        return total;
+    }
+
+    /**
+     * Read the resident set size of one process from /proc
+     * @param pid process id
+     * @return RSS in kB, 0 if the process exited meanwhile, or -1 if /proc is not available
+     */
+    private static long residentKb(long pid) {
+        if (!Files.isDirectory(Paths.get("/proc/self"))) {
+            return -1;
+        }
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        try (Stream<String> lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> line.replaceAll("\\D", ""))
+                    .mapToLong(Long::parseLong)
+                    .findFirst().orElse(0);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Measurements of one browser session
+     */
+    public static class Session {
+        private final String browser;
+        private final String profile;
+        private final String backend;
+        private final long startupMillis;
+        private Optional<ProcessHandle> process = Optional.empty();
+        private long rssLaunchKb = -1;
+        private long rssQuitKb = -1;
+
+        Session(String browser, String profile, String backend, long startupMillis) {
+            this.browser = browser;
+            this.profile = profile;
+            this.backend = backend;
+            this.startupMillis = startupMillis;
+        }
+    }
+}
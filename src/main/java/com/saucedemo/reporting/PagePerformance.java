@@ -0,0 +1,425 @@
+package com.saucedemo.reporting;
+
+import com.saucedemo.utils.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Browser-side performance of every page object transition (perf.capture.enabled).
+ * When a page object is created or reached, one script reads the Navigation Timing and
+ * Paint Timing of the document once it has loaded, and the long tasks since the previous
+ * capture. Chromium sessions also report CDP Performance.getMetrics, as deltas
+ * since the previous capture. Samples are kept per test for its Extent node, aggregated per
+ * page and metric, and appended to target/metrics/page-performance-trend.csv at the end of
+ * the run. Budgets are read from perf.budget.&lt;Page&gt;.&lt;metric&gt;.&lt;p50|p95|max&gt; in milliseconds:
+ * max budgets are checked per test, percentile budgets once over the whole run.
+ */
+public class PagePerformance {
+    private static final Logger logger = LogManager.getLogger(PagePerformance.class);
+    private static final ConfigReader config = ConfigReader.getInstance();
+    private static final boolean ENABLED = config.getBoolean("perf.capture.enabled", true);
+    private static final boolean CDP_ENABLED = config.getBoolean("perf.cdp.enabled", true);
+    private static final int BUDGET_MIN_SAMPLES = config.getInt("perf.budget.min.samples", 5);
+    private static final String BUDGET_PREFIX = "perf.budget.";
+    private static final String MAX_STAT = "max";
+    private static final Map<String, Integer> PERCENTILE_STATS = Map.of("p50", 50, "p95", 95);
+    private static final Set<String> COUNT_METRICS = Set.of("longTasks");
+    private static final Path TREND_FILE = Paths.get("target/metrics/page-performance-trend.csv");
+    private static final String TREND_HEADER = "run,page,metric,count,p50,p95,max";
+    private static final String RUN_ID = Instant.now().toString();
+    private static final List<String> CDP_DURATIONS = List.of("ScriptDuration", "LayoutDuration",
+            "RecalcStyleDuration", "TaskDuration");
+    // Navigation and paint timings are reported once per document, after its load event
+    private static final String CAPTURE_SCRIPT =
+            "var result = {};"
+            + "if (!window.__perfLongTasks) {"
+            + "  window.__perfLongTasks = [];"
+            + "  try {"
+            + "    new PerformanceObserver(function (list) {"
+            + "      list.getEntries().forEach(function (task) { window.__perfLongTasks.push(task.duration); });"
+            + "    }).observe({type: 'longtask', buffered: true});"
+            + "  } catch (e) {}"
+            + "}"
+            + "var nav = performance.getEntriesByType('navigation')[0];"
+            + "if (!window.__perfReported && nav && nav.loadEventEnd > 0) {"
+            + "  window.__perfReported = true;"
+            + "  result.ttfb = nav.responseStart;"
+            + "  result.domInteractive = nav.domInteractive;"
+            + "  result.domContentLoaded = nav.domContentLoadedEventEnd;"
+            + "  result.load = nav.loadEventEnd;"
+            + "  performance.getEntriesByType('paint').forEach(function (paint) {"
+            + "    result[paint.name === 'first-contentful-paint' ? 'fcp' : 'firstPaint'] = paint.startTime;"
+            + "  });"
+            + "}"
+            + "var tasks = window.__perfLongTasks.splice(0);"
+            + "result.longTasks = tasks.length;"
+            + "result.longTaskTime = tasks.reduce(function (sum, duration) { return sum + duration; }, 0);"
+            + "return result;";
+
+    private static final ThreadLocal<List<Sample>> testSamples = ThreadLocal.withInitial(ArrayList::new);
+    private static final Map<String, Samples> suiteSamples = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, Map<String, Double>> cdpBaselines = new ConcurrentHashMap<>();
+    private static final Set<WebDriver> cdpUnavailable = ConcurrentHashMap.newKeySet();
+    private static final ReentrantLock exportLock = new ReentrantLock();
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private PagePerformance() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Start collecting samples for the test on the current thread
+     */
+    public static void startTest() {
+        testSamples.get().clear();
+    }
+
+    /**
+     * Capture the performance of the page a session has just reached
+     * @param driver WebDriver instance
+     * @param page page object class name
+     */
+    public static void capture(WebDriver driver, String page) {
+        if (!ENABLED || !(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+            if (result instanceof Map) {
+                ((Map<?, ?>) result).forEach((name, value) -> {
+                    if (value instanceof Number && Double.isFinite(((Number) value).doubleValue())) {
+                        metrics.put(String.valueOf(name), Math.round(((Number) value).doubleValue()));
+                    }
+                });
+            }
+            if (CDP_ENABLED) {
+                metrics.putAll(cdpMetrics(driver));
+            }
+        } catch (WebDriverException e) {
+            logger.debug("Failed to capture performance of {}: {}", page, e.getMessage());
+            return;
+        }
+        List<Sample> samples = testSamples.get();
+        metrics.forEach((metric, value) -> {
+            samples.add(new Sample(page, metric, value));
+            suiteSamples.computeIfAbsent(page + "." + metric, key -> new Samples()).add(value);
+        });
+    }
+
+    /**
+     * Get the samples of the test on the current thread
+     * @return samples in capture order
+     */
+    public static List<Sample> getTestSamples() {
+        return List.copyOf(testSamples.get());
+    }
+
+    /**
+     * Stop collecting for the test on the current thread
+     * @return samples of the test in capture order
+     */
+    public static List<Sample> endTest() {
+        List<Sample> samples = getTestSamples();
+        testSamples.remove();
+        return samples;
+    }
+
+    /**
+     * Check the page metrics sampled by the current test against their max budgets.
+     * Only the test's own samples are checked, so one slow visit fails only the test that made it.
+     * @return one message per exceeded budget, empty if all are met
+     */
+    public static List<String> checkTestBudgets() {
+        List<String> violations = new ArrayList<>();
+        Map<String, Long> maxima = new LinkedHashMap<>();
+        for (Sample sample : testSamples.get()) {
+            maxima.merge(sample.page + "." + sample.metric, sample.value, Math::max);
+        }
+        maxima.forEach((key, actual) -> {
+            long budget = config.getLong(BUDGET_PREFIX + key + "." + MAX_STAT, -1);
+            if (budget >= 0 && actual > budget) {
+                violations.add(violation(key, MAX_STAT, actual, budget));
+            }
+        });
+        return violations;
+    }
+
+    /**
+     * Check the percentile budgets over every sample of the run. Metrics with fewer than
+     * perf.budget.min.samples samples are not checked.
+     * @return one message per exceeded budget, empty if all are met
+     */
+    public static List<String> checkRunBudgets() {
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, Samples> entry : new TreeMap<>(suiteSamples).entrySet()) {
+            Samples samples = entry.getValue();
+            if (samples.count() < BUDGET_MIN_SAMPLES) {
+                continue;
+            }
+            for (Map.Entry<String, Integer> stat : PERCENTILE_STATS.entrySet()) {
+                long budget = config.getLong(BUDGET_PREFIX + entry.getKey() + "." + stat.getKey(), -1);
+                long actual = samples.percentile(stat.getValue());
+                if (budget >= 0 && actual > budget) {
+                    violations.add(violation(entry.getKey(), stat.getKey(), actual, budget));
+                }
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Build a report table of samples
+     * @param samples samples of one test
+     * @return table rows, the first being the header
+     */
+    public static String[][] toTable(List<Sample> samples) {
+        String[][] table = new String[samples.size() + 1][];
+        table[0] = new String[]{"Page", "Metric", "Value"};
+        for (int i = 0; i < samples.size(); i++) {
+            Sample sample = samples.get(i);
+            table[i + 1] = new String[]{sample.page, sample.metric, String.valueOf(sample.value)};
+        }
+        return table;
+    }
+
+    /**
+     * Forget the CDP state of a session that is quitting
+     * @param driver WebDriver instance
+     */
+    public static void detach(WebDriver driver) {
+        cdpBaselines.remove(driver);
+        cdpUnavailable.remove(driver);
+    }
+
+    /**
+     * Append the per page and metric aggregates of this run to the trend file
+     */
+    public static void export() {
+        if (suiteSamples.isEmpty()) {
+            return;
+        }
+        exportLock.lock();
+        try {
+            Files.createDirectories(TREND_FILE.getParent());
+            boolean header = !Files.exists(TREND_FILE);
+            try (BufferedWriter writer = Files.newBufferedWriter(TREND_FILE,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (header) {
+                    writer.write(TREND_HEADER);
+                    writer.newLine();
+                }
+                for (Map.Entry<String, Samples> entry : new TreeMap<>(suiteSamples).entrySet()) {
+                    String key = entry.getKey();
+                    int dot = key.indexOf('.');
+                    Samples samples = entry.getValue();
+                    writer.write(String.join(",", RUN_ID, key.substring(0, dot), key.substring(dot + 1),
+                            String.valueOf(samples.count()), String.valueOf(samples.percentile(50)),
+                            String.valueOf(samples.percentile(95)), String.valueOf(samples.percentile(100))));
+                    writer.newLine();
+                }
+            }
+            logger.info("Page performance trend written to: {}", TREND_FILE);
+        } catch (IOException e) {
+            logger.warn("Failed to write page performance trend: {}", e.getMessage());
+        } finally {
+            exportLock.unlock();
+        }
+    }
+
+    /**
+     * Read CDP performance metrics of a Chromium session
+     * @param driver WebDriver instance
+     * @return durations since the previous capture in ms and JS heap size in KB; empty for other browsers
+     */
+    private static Map<String, Long> cdpMetrics(WebDriver driver) {
+        if (!(driver instanceof HasCdp) || cdpUnavailable.contains(driver)) {
+            return Map.of();
+        }
+        HasCdp cdp = (HasCdp) driver;
+        Map<String, Double> values = new HashMap<>();
+        try {
+            Map<String, Double> baseline = cdpBaselines.get(driver);
+            if (baseline == null) {
+                cdp.executeCdpCommand("Performance.enable", Map.of());
+            }
+            Object metrics = cdp.executeCdpCommand("Performance.getMetrics", Map.of()).get("metrics");
+            if (metrics instanceof List) {
+                for (Object metric : (List<?>) metrics) {
+                    Map<?, ?> entry = (Map<?, ?>) metric;
+                    values.put(String.valueOf(entry.get("name")), ((Number) entry.get("value")).doubleValue());
+                }
+            }
+        } catch (WebDriverException | ClassCastException e) {
+            logger.debug("CDP performance metrics unavailable: {}", e.getMessage());
+            cdpUnavailable.add(driver);
+            return Map.of();
+        }
+
+        Map<String, Double> baseline = cdpBaselines.put(driver, values);
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (String name : CDP_DURATIONS) {
+            Double value = values.get(name);
+            if (value != null) {
+                double previous = baseline == null ? 0 : baseline.getOrDefault(name, 0.0);
+                // CDP reports cumulative seconds per session
+                result.put("cdp" + name, Math.round((value - previous) * 1000));
+            }
+        }
+        Double heap = values.get("JSHeapUsedSize");
+        if (heap != null) {
+            result.put("cdpJSHeapUsedKb", Math.round(heap / 1024));
+        }
+        return result;
+    }
+
+    /**
+     * Describe an exceeded budget
+     * @param key page.metric
+     * @param stat budget statistic
+     * @param actual measured value
+     * @param budget budget
+     * @return violation message
+     */
+    private static String violation(String key, String stat, long actual, long budget) {
+        int dot = key.indexOf('.');
+        String metric = key.substring(dot + 1);
+        String unit = unit(metric);
+        return String.format("%s %s %s is %d%s, budget %d%s",
+                key.substring(0, dot), metric, stat, actual, unit, budget, unit);
+    }
+
+    /**
+     * Get the unit suffix of a metric for messages
+     * @param metric metric name
+     * @return " KB" for heap sizes, empty for counts, " ms" for durations
+     */
+    private static String unit(String metric) {
+        if (metric.endsWith("Kb")) {
+            return " KB";
+        }
+        return COUNT_METRICS.contains(metric) ? "" : " ms";
+    }
+
+    /**
+     * One value of one metric of one page
+     */
+    public static class Sample {
+        private final String page;
+        private final String metric;
+        private final long value;
+
+        Sample(String page, String metric, long value) {
+            this.page = page;
+            this.metric = metric;
+            this.value = value;
+        }
+
+        /**
+         * Get the page object class name
+         * @return page name
+         */
+        public String getPage() {
+            return page;
+        }
+
+        /**
+         * Get the metric name
+         * @return metric name
+         */
+        public String getMetric() {
+            return metric;
+        }
+
+        /**
+         * Get the value
+         * @return value in ms, or KB for heap sizes
+         */
+        public long getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * All values of one page metric in this run, for exact percentiles
+     */
+    private static class Samples {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] values = new long[16];
+        private int size;
+
+        /**
+         * Add a value
+         * @param value value
+         */
+        void add(long value) {
+            lock.lock();
+            try {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Get the number of values
+         * @return count
+         */
+        int count() {
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Get a percentile by the nearest-rank method
+         * @param percentile percentile from 1 to 100
+         * @return value at the percentile, 0 if there are no values
+         */
+        long percentile(int percentile) {
+            long[] sorted;
+            lock.lock();
+            try {
+                sorted = Arrays.copyOf(values, size);
+            } finally {
+                lock.unlock();
+            }
+            if (sorted.length == 0) {
+                return 0;
+            }
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+}
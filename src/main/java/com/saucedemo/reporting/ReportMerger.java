@@ -0,0 +1,333 @@
+package com.saucedemo.reporting;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.JsonFormatter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Combines the reports of sharded runs into one set of reports.
+ * Usage: ReportMerger &lt;shards dir&gt; [output dir]. The shards directory holds one
+ * directory per shard, each with the surefire-reports, extent-reports and screenshots
+ * directories of that shard's run. Screenshots are kept in one directory per shard, and the
+ * screenshot paths in the merged Extent and streamed reports are rewritten to point at them.
+ */
+public class ReportMerger {
+    private static final Logger logger = LogManager.getLogger(ReportMerger.class);
+    private static final String DEFAULT_OUTPUT_DIR = "target/merged-reports";
+    private static final String MERGED_SUREFIRE_FILE = "surefire-reports/TEST-merged.xml";
+    private static final String MERGED_EXTENT_DIR = "extent-reports/";
+    private static final String MERGED_SCREENSHOT_DIR = "screenshots";
+    // Screenshot paths as seen from the merged extent-reports directory
+    private static final String MERGED_SCREENSHOT_LINK = "../" + MERGED_SCREENSHOT_DIR + "/";
+    private static final String[] MEDIA_PATH_FIELDS = {"path", "resolvedPath"};
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String[] SUITE_COUNTERS = {"tests", "failures", "errors", "skipped"};
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ReportMerger() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Merge shard reports
+     * @param args shards directory and optional output directory
+     * @throws Exception if the reports cannot be read or written
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: ReportMerger <shards dir> [output dir]");
+        }
+        Path shards = Paths.get(args[0]);
+        Path output = Paths.get(args.length > 1 ? args[1] : DEFAULT_OUTPUT_DIR);
+        mergeSurefire(shards, findFiles(shards, "surefire-reports", "TEST-", ".xml"),
+                output.resolve(MERGED_SUREFIRE_FILE));
+        Map<String, Set<String>> screenshots = copyScreenshots(shards, output.resolve(MERGED_SCREENSHOT_DIR));
+        List<Path> archives = findFiles(shards, "extent-reports", "", ".json");
+        if (!archives.isEmpty()) {
+            mergeExtent(shards, archives, screenshots, output.resolve(MERGED_EXTENT_DIR));
+        }
+        List<Path> streams = findFiles(shards, "extent-reports", "", ".ndjson");
+        if (!streams.isEmpty()) {
+            mergeStreams(shards, streams, screenshots, output.resolve(MERGED_EXTENT_DIR));
+        }
+    }
+
+    /**
+     * Combine surefire XML files into one testsuites document with summed counters.
+     * Each suite's name is tagged with the shard it came from.
+     * @param shards shards directory
+     * @param files surefire TEST-*.xml files
+     * @param target merged file
+     * @throws IOException if a file cannot be read or written
+     * @throws ParserConfigurationException if no XML parser is available
+     * @throws SAXException if a file is not valid XML
+     * @throws TransformerException if the merged file cannot be written
+     */
+    static void mergeSurefire(Path shards, List<Path> files, Path target)
+            throws IOException, ParserConfigurationException, SAXException, TransformerException {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        Document merged = builder.newDocument();
+        Element root = merged.createElement("testsuites");
+        root.setAttribute("name", "merged");
+        merged.appendChild(root);
+
+        long[] counters = new long[SUITE_COUNTERS.length];
+        double time = 0;
+        for (Path file : files) {
+            Element source = builder.parse(file.toFile()).getDocumentElement();
+            NodeList suites = "testsuites".equals(source.getTagName())
+                    ? source.getElementsByTagName("testsuite") : null;
+            int count = suites == null ? 1 : suites.getLength();
+            for (int i = 0; i < count; i++) {
+                Element suite = suites == null ? source : (Element) suites.item(i);
+                for (int c = 0; c < SUITE_COUNTERS.length; c++) {
+                    counters[c] += parseLong(suite.getAttribute(SUITE_COUNTERS[c]));
+                }
+                time += parseDouble(suite.getAttribute("time"));
+                Node copy = merged.importNode(suite, true);
+                ((Element) copy).setAttribute("name", suite.getAttribute("name") + " ["
+                        + shardOf(shards, file) + "]");
+                root.appendChild(copy);
+            }
+        }
+        for (int c = 0; c < SUITE_COUNTERS.length; c++) {
+            root.setAttribute(SUITE_COUNTERS[c], String.valueOf(counters[c]));
+        }
+        root.setAttribute("time", String.format(Locale.ROOT, "%.3f", time));
+
+        Files.createDirectories(target.getParent());
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.transform(new DOMSource(merged), new StreamResult(target.toFile()));
+        logger.info("Merged {} surefire report(s) into: {} (tests={}, failures={}, errors={}, skipped={})",
+                files.size(), target, counters[0], counters[1], counters[2], counters[3]);
+    }
+
+    /**
+     * Rebuild one Extent report from the JSON archives of the shards
+     * @param shards shards directory
+     * @param archives test-report.json files
+     * @param screenshots screenshot file names per shard
+     * @param targetDir directory for the merged report
+     * @throws IOException if an archive cannot be read
+     */
+    static void mergeExtent(Path shards, List<Path> archives, Map<String, Set<String>> screenshots, Path targetDir)
+            throws IOException {
+        Files.createDirectories(targetDir);
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(targetDir.resolve("test-report.html").toFile());
+        sparkReporter.config().setDocumentTitle("SauceDemo Test Report");
+        sparkReporter.config().setReportName("SauceDemo Automation Test Results (" + archives.size() + " shards)");
+
+        ExtentReports reports = new ExtentReports();
+        reports.attachReporter(sparkReporter, new JsonFormatter(targetDir.resolve("test-report.json").toFile()));
+        for (Path archive : archives) {
+            // Loaded from a rewritten copy; the archive itself is left as the shard wrote it
+            JsonNode domain = mapper.readTree(archive.toFile());
+            relinkScreenshots(domain, shardOf(shards, archive), screenshots);
+            Path relinked = Files.createTempFile("extent-archive-", ".json");
+            try {
+                mapper.writeValue(relinked.toFile(), domain);
+                reports.createDomainFromJsonArchive(relinked.toFile());
+            } finally {
+                Files.deleteIfExists(relinked);
+            }
+        }
+        reports.setSystemInfo("Shards", String.valueOf(archives.size()));
+        reports.flush();
+        logger.info("Merged {} Extent archive(s) into: {}", archives.size(), targetDir);
+    }
+
+    /**
+     * Concatenate the streamed reports of the shards and render the HTML report from them
+     * @param shards shards directory
+     * @param streams test-report.ndjson files
+     * @param screenshots screenshot file names per shard
+     * @param targetDir directory for the merged report
+     * @throws IOException if a file cannot be read or written
+     */
+    static void mergeStreams(Path shards, List<Path> streams, Map<String, Set<String>> screenshots, Path targetDir)
+            throws IOException {
+        Files.createDirectories(targetDir);
+        Path merged = targetDir.resolve("test-report.ndjson");
+        try (BufferedWriter out = Files.newBufferedWriter(merged, StandardCharsets.UTF_8)) {
+            for (Path stream : streams) {
+                String shard = shardOf(shards, stream);
+                try (BufferedReader in = Files.newBufferedReader(stream, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = in.readLine()) != null) {
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        JsonNode record = mapper.readTree(line);
+                        relinkScreenshots(record, shard, screenshots);
+                        out.write(mapper.writeValueAsString(record));
+                        out.newLine();
+                    }
+                }
+            }
+        }
+        StreamingReportWriter.renderHtml(List.of(merged), targetDir.resolve("test-report.html"),
+                "SauceDemo Automation Test Results (" + streams.size() + " shards)");
+        logger.info("Merged {} streamed report(s) into: {}", streams.size(), targetDir);
+    }
+
+    /**
+     * Copy the screenshots of every shard into one subdirectory per shard, so equal file
+     * names from different shards do not overwrite each other
+     * @param shards shards directory
+     * @param targetDir directory for all screenshots
+     * @return screenshot file names per shard
+     * @throws IOException if a screenshot cannot be copied
+     */
+    private static Map<String, Set<String>> copyScreenshots(Path shards, Path targetDir) throws IOException {
+        Map<String, Set<String>> copied = new HashMap<>();
+        for (Path screenshot : findFiles(shards, "screenshots", "", "")) {
+            String shard = shardOf(shards, screenshot);
+            Path target = targetDir.resolve(shard).resolve(screenshot.getFileName());
+            Files.createDirectories(target.getParent());
+            Files.copy(screenshot, target, StandardCopyOption.REPLACE_EXISTING);
+            copied.computeIfAbsent(shard, key -> new HashSet<>()).add(screenshot.getFileName().toString());
+        }
+        return copied;
+    }
+
+    /**
+     * Point the screenshot paths in a report tree at the merged copies of the shard's screenshots.
+     * Media path fields anywhere in the tree are rewritten, as are the entries of a streamed
+     * record's screenshots list, when they name a screenshot of the shard.
+     * @param node Extent archive or streamed record, rewritten in place
+     * @param shard shard the report came from
+     * @param screenshots screenshot file names per shard
+     */
+    private static void relinkScreenshots(JsonNode node, String shard, Map<String, Set<String>> screenshots) {
+        Set<String> names = screenshots.getOrDefault(shard, Set.of());
+        if (names.isEmpty()) {
+            return;
+        }
+        if (node.isObject()) {
+            ObjectNode object = (ObjectNode) node;
+            for (String field : MEDIA_PATH_FIELDS) {
+                JsonNode path = object.get(field);
+                if (path != null && path.isTextual()) {
+                    relink(path.asText(), shard, names).ifPresent(link -> object.put(field, link));
+                }
+            }
+            JsonNode list = object.get("screenshots");
+            if (list != null && list.isArray()) {
+                ArrayNode array = (ArrayNode) list;
+                for (int i = 0; i < array.size(); i++) {
+                    int index = i;
+                    relink(array.get(i).asText(), shard, names).ifPresent(link -> array.set(index, link));
+                }
+            }
+        }
+        for (JsonNode child : node) {
+            relinkScreenshots(child, shard, screenshots);
+        }
+    }
+
+    /**
+     * Get the merged location of a screenshot path
+     * @param path screenshot path as recorded by the shard
+     * @param shard shard the report came from
+     * @param names screenshot file names of the shard
+     * @return path relative to the merged extent-reports directory, empty if the path names no screenshot
+     */
+    private static Optional<String> relink(String path, String shard, Set<String> names) {
+        int slash = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+        String name = path.substring(slash + 1);
+        return names.contains(name) ? Optional.of(MERGED_SCREENSHOT_LINK + shard + "/" + name) : Optional.empty();
+    }
+
+    /**
+     * Get the shard a report file belongs to
+     * @param shards shards directory
+     * @param file file inside a shard directory
+     * @return shard directory name
+     */
+    private static String shardOf(Path shards, Path file) {
+        return shards.relativize(file).getName(0).toString();
+    }
+
+    /**
+     * Find report files of all shards
+     * @param shards shards directory
+     * @param directory name of the report directory inside a shard
+     * @param prefix file name prefix
+     * @param suffix file name suffix
+     * @return matching files in a stable order
+     * @throws IOException if the shards directory cannot be walked
+     */
+    private static List<Path> findFiles(Path shards, String directory, String prefix, String suffix)
+            throws IOException {
+        try (Stream<Path> paths = Files.walk(shards)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> path.getParent().getFileName().toString().equals(directory))
+                    .filter(path -> path.getFileName().toString().startsWith(prefix)
+                            && path.getFileName().toString().endsWith(suffix))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Parse a counter attribute
+     * @param value attribute value, possibly empty
+     * @return counter value
+     */
+    private static long parseLong(String value) {
+        return value == null || value.isEmpty() ? 0 : Long.parseLong(value);
+    }
+
+    /**
+     * Parse a time attribute, which surefire may write with grouping separators
+     * @param value attribute value, possibly empty
+     * @return time in seconds
+     */
+    private static double parseDouble(String value) {
+        return value == null || value.isEmpty() ? 0 : Double.parseDouble(value.replace(",", ""));
+    }
+}
@@ -0,0 +1,226 @@
+package com.saucedemo.reporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Per-step timing registry fed by {@link StepTimingAspect}.
+ * Every page-object method and BasePage action is timed and split into time spent
+ * waiting (reported by the WaitEngine) and time spent on WebDriver commands.
+ * Samples are aggregated per test and per suite.
+ */
+public class StepMetrics {
+    private static final Logger logger = LogManager.getLogger(StepMetrics.class);
+    private static final String METRICS_DIR = "target/metrics/";
+    private static final Map<String, StepStats> suiteSteps = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, StepStats>> testSteps = new ThreadLocal<>();
+    private static final ThreadLocal<Deque<long[]>> openSteps = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private StepMetrics() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Start collecting steps for the test running on this thread
+     */
+    public static void startTest() {
+        testSteps.set(new LinkedHashMap<>());
+        openSteps.get().clear();
+    }
+
+    /**
+     * Stop collecting steps for the test running on this thread
+     * @return steps recorded for the test, in first-call order
+     */
+    public static Collection<StepStats> endTest() {
+        Map<String, StepStats> steps = testSteps.get();
+        testSteps.remove();
+        return steps == null ? List.of() : steps.values();
+    }
+
+    /**
+     * Mark the start of a timed step
+     */
+    public static void enterStep() {
+        openSteps.get().push(new long[1]);
+    }
+
+    /**
+     * Mark the end of a timed step and record it
+     * @param page page class the step ran on
+     * @param method method name
+     * @param locator locator the step acted on, or null for page-object methods
+     * @param totalNanos elapsed time of the step
+     */
+    public static void exitStep(String page, String method, String locator, long totalNanos) {
+        Deque<long[]> frames = openSteps.get();
+        long[] frame = frames.poll();
+        long waitNanos = frame == null ? 0 : Math.min(frame[0], totalNanos);
+        long[] parent = frames.peek();
+        if (parent != null) {
+            parent[0] += waitNanos;
+        }
+
+        String key = page + "." + method + (locator == null ? "" : " [" + locator + "]");
+        record(suiteSteps.computeIfAbsent(key, k -> new StepStats(page, method, locator)), totalNanos, waitNanos);
+        Map<String, StepStats> steps = testSteps.get();
+        if (steps != null) {
+            record(steps.computeIfAbsent(key, k -> new StepStats(page, method, locator)), totalNanos, waitNanos);
+        }
+    }
+
+    /**
+     * Attribute wait time to the innermost open step on this thread
+     * @param nanos time spent waiting
+     */
+    public static void recordWait(long nanos) {
+        long[] frame = openSteps.get().peek();
+        if (frame != null) {
+            frame[0] += nanos;
+        }
+    }
+
+    /**
+     * Build a report table for a set of steps
+     * @param steps steps to include
+     * @return table rows including a header row
+     */
+    public static String[][] toTable(Collection<StepStats> steps) {
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[]{"Step", "Calls", "Total ms", "Wait ms", "Command ms", "p50 ms", "p95 ms", "p99 ms"});
+        for (StepStats step : steps) {
+            rows.add(new String[]{
+                    step.getName(),
+                    String.valueOf(step.total.getCount()),
+                    String.valueOf(step.total.getTotalMillis()),
+                    String.valueOf(step.wait.getTotalMillis()),
+                    String.valueOf(step.command.getTotalMillis()),
+                    String.valueOf(step.total.getPercentile(50)),
+                    String.valueOf(step.total.getPercentile(95)),
+                    String.valueOf(step.total.getPercentile(99))});
+        }
+        return rows.toArray(new String[0][]);
+    }
+
+    /**
+     * Write suite-wide step latencies to JSON and CSV files
+     */
+    public static void export() {
+        if (suiteSteps.isEmpty()) {
+            logger.info("No step timings recorded - is the aspectjweaver agent attached?");
+            return;
+        }
+        List<StepStats> steps = suiteSteps.values().stream()
+                .sorted(Comparator.comparingLong((StepStats step) -> step.total.getTotalMillis()).reversed())
+                .collect(Collectors.toList());
+        try {
+            Files.createDirectories(Paths.get(METRICS_DIR));
+            List<Map<String, Object>> json = steps.stream().map(StepStats::toMap).collect(Collectors.toList());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(Paths.get(METRICS_DIR, "step-timings.json").toFile(), json);
+
+            Path csv = Paths.get(METRICS_DIR, "step-timings.csv");
+            try (Writer writer = Files.newBufferedWriter(csv)) {
+                writer.write("page,method,locator,calls,total_ms,wait_ms,command_ms,p50_ms,p95_ms,p99_ms,max_ms\n");
+                for (StepStats step : steps) {
+                    writer.write(String.format("%s,%s,\"%s\",%d,%d,%d,%d,%d,%d,%d,%d%n",
+                            step.page, step.method, step.locator == null ? "" : step.locator.replace("\"", "\"\""),
+                            step.total.getCount(), step.total.getTotalMillis(), step.wait.getTotalMillis(),
+                            step.command.getTotalMillis(), step.total.getPercentile(50),
+                            step.total.getPercentile(95), step.total.getPercentile(99), step.total.getMaxMillis()));
+                }
+            }
+            logger.info("Step timings written to: {}", METRICS_DIR);
+        } catch (IOException e) {
+            logger.error("Failed to write step timings", e);
+        }
+    }
+
+    /**
+     * Add a sample to a step
+     * @param step step to update
+     * @param totalNanos elapsed time of the step
+     * @param waitNanos part of the elapsed time spent waiting
+     */
+    private static void record(StepStats step, long totalNanos, long waitNanos) {
+        step.total.record(TimeUnit.NANOSECONDS.toMillis(totalNanos));
+        step.wait.record(TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        step.command.record(TimeUnit.NANOSECONDS.toMillis(totalNanos - waitNanos));
+    }
+
+    /**
+     * Latency histograms for a single step
+     */
+    public static class StepStats {
+        private final String page;
+        private final String method;
+        private final String locator;
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final LatencyHistogram wait = new LatencyHistogram();
+        private final LatencyHistogram command = new LatencyHistogram();
+
+        StepStats(String page, String method, String locator) {
+            this.page = page;
+            this.method = method;
+            this.locator = locator;
+        }
+
+        /**
+         * Get a display name for the step
+         * @return Page.method, followed by the locator for BasePage actions
+         */
+        public String getName() {
+            return page + "." + method + (locator == null ? "" : " [" + locator + "]");
+        }
+
+        /**
+         * Get the histogram of total step time
+         * @return histogram
+         */
+        public LatencyHistogram getTotal() {
+            return total;
+        }
+
+        /**
+         * Convert to a map for JSON export
+         * @return step fields and percentiles
+         */
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("page", page);
+            map.put("method", method);
+            map.put("locator", locator);
+            map.put("calls", total.getCount());
+            map.put("totalMs", total.getTotalMillis());
+            map.put("waitMs", wait.getTotalMillis());
+            map.put("commandMs", command.getTotalMillis());
+            map.put("p50Ms", total.getPercentile(50));
+            map.put("p95Ms", total.getPercentile(95));
+            map.put("p99Ms", total.getPercentile(99));
+            map.put("maxMs", total.getMaxMillis());
+            return map;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.saucedemo.reporting;
+
+import com.saucedemo.core.Locators;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Times page-object methods and BasePage actions.
+ * Woven at load time by the aspectjweaver agent configured for surefire in pom.xml
+ * (see META-INF/aop.xml); without the agent no steps are recorded.
+ */
+@Aspect
+public class StepTimingAspect {
+    private static final int MAX_LOCATOR_LENGTH = 80;
+
+    /**
+     * Time a public page-object method
+     * @param joinPoint intercepted method
+     * @return method result
+     * @throws Throwable anything the method throws
+     */
+    @Around("execution(public * com.saucedemo.pages..*.*(..)) && !within(com.saucedemo.pages.*Snapshot)")
+    public Object timePageMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, null);
+    }
+
+    /**
+     * Time a BasePage action, tagged with the locator it acted on
+     * @param joinPoint intercepted method
+     * @return method result
+     * @throws Throwable anything the method throws
+     */
+    @Around("execution(* com.saucedemo.core.BasePage.click(..))"
+            + " || execution(* com.saucedemo.core.BasePage.type(..))"
+            + " || execution(* com.saucedemo.core.BasePage.waitForVisibility(..))"
+            + " || execution(* com.saucedemo.core.BasePage.getText(..))")
+    public Object timeAction(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object[] args = joinPoint.getArgs();
+        return time(joinPoint, args.length > 0 ? describeLocator(args[0]) : null);
+    }
+
+    /**
+     * Run a step and record its timing
+     * @param joinPoint intercepted method
+     * @param locator locator tag, or null
+     * @return method result
+     * @throws Throwable anything the method throws
+     */
+    private Object time(ProceedingJoinPoint joinPoint, String locator) throws Throwable {
+        Object target = joinPoint.getTarget();
+        String page = target != null ? target.getClass().getSimpleName()
+                : joinPoint.getSignature().getDeclaringType().getSimpleName();
+        StepMetrics.enterStep();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            StepMetrics.exitStep(page, joinPoint.getSignature().getName(), locator, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Describe the locator of a By or PageFactory element proxy without touching the browser
+     * @param target first argument of the action
+     * @return locator description
+     */
+    private static String describeLocator(Object target) {
+        String description = Locators.describe(target);
+        return description.length() > MAX_LOCATOR_LENGTH
+                ? description.substring(0, MAX_LOCATOR_LENGTH) + "..." : description;
+    }
+}
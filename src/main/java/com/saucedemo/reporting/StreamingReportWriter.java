@@ -0,0 +1,261 @@
+package com.saucedemo.reporting;
+
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.model.Media;
+import com.aventstack.extentreports.model.Test;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes each finished test as one NDJSON record as soon as it completes and renders
+ * the HTML summary from the records at the end. Neither step holds more than one
+ * test in memory, so heap use does not grow with the size of the run.
+ */
+public class StreamingReportWriter implements Closeable {
+    private static final Logger logger = LogManager.getLogger(StreamingReportWriter.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String TYPE_TEST = "test";
+    private static final String TYPE_SYSTEM = "system";
+
+    private final BufferedWriter writer;
+
+    /**
+     * Constructor. Creates or truncates the record file.
+     * @param file NDJSON file
+     * @throws IOException if the file cannot be opened
+     */
+    public StreamingReportWriter(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.writer = Files.newBufferedWriter(file);
+    }
+
+    /**
+     * Append a finished test and flush it to disk
+     * @param test test model
+     * @throws IOException if the record cannot be written
+     */
+    public void write(Test test) throws IOException {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("type", TYPE_TEST);
+        record.put("name", test.getName());
+        record.put("status", test.getStatus().toString());
+        record.put("start", test.getStartTime().getTime());
+        record.put("end", test.getEndTime().getTime());
+        List<Map<String, Object>> logs = new ArrayList<>();
+        for (Log log : test.getLogs()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("status", log.getStatus().toString());
+            entry.put("time", log.getTimestamp().getTime());
+            entry.put("details", log.getDetails());
+            if (log.hasException()) {
+                entry.put("exception", log.getException().getStackTrace());
+            }
+            logs.add(entry);
+        }
+        record.put("logs", logs);
+        List<String> media = new ArrayList<>();
+        for (Media item : test.getMedia()) {
+            media.add(item.getPath());
+        }
+        for (Log log : test.getLogs()) {
+            if (log.hasMedia()) {
+                media.add(log.getMedia().getPath());
+            }
+        }
+        record.put("screenshots", media);
+        writeRecord(record);
+    }
+
+    /**
+     * Append the system information of the run
+     * @param systemInfo information name to value
+     * @throws IOException if the record cannot be written
+     */
+    public void writeSystemInfo(Map<String, String> systemInfo) throws IOException {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("type", TYPE_SYSTEM);
+        record.put("info", systemInfo);
+        writeRecord(record);
+    }
+
+    /**
+     * Close the record file
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Render an HTML report from record files in two streaming passes: totals, then rows
+     * @param records NDJSON files, e.g. one per shard
+     * @param html HTML file to write
+     * @param title report title
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void renderHtml(List<Path> records, Path html, String title) throws IOException {
+        Map<Status, Integer> counts = new EnumMap<>(Status.class);
+        Map<String, String> systemInfo = new LinkedHashMap<>();
+        long first = Long.MAX_VALUE;
+        long last = 0;
+        for (Path file : records) {
+            try (BufferedReader reader = Files.newBufferedReader(file)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    JsonNode record = parse(line);
+                    if (record == null) {
+                        continue;
+                    }
+                    if (TYPE_SYSTEM.equals(record.path("type").asText())) {
+                        record.path("info").fields().forEachRemaining(
+                                field -> systemInfo.put(field.getKey(), field.getValue().asText()));
+                    } else {
+                        counts.merge(status(record), 1, Integer::sum);
+                        first = Math.min(first, record.path("start").asLong());
+                        last = Math.max(last, record.path("end").asLong());
+                    }
+                }
+            }
+        }
+
+        if (html.getParent() != null) {
+            Files.createDirectories(html.getParent());
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(html)) {
+            out.write("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>" + escape(title) + "</title>\n"
+                    + "<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse}"
+                    + "td,th{border:1px solid #ccc;padding:4px 8px;text-align:left;vertical-align:top}"
+                    + ".pass{color:#2e7d32}.fail{color:#c62828}.skip{color:#f9a825}.warning{color:#ef6c00}"
+                    + "pre{white-space:pre-wrap;margin:0}</style></head><body>\n");
+            out.write("<h1>" + escape(title) + "</h1>\n<table><tr>");
+            int total = counts.values().stream().mapToInt(Integer::intValue).sum();
+            out.write("<th>Tests</th><td>" + total + "</td>");
+            for (Map.Entry<Status, Integer> count : counts.entrySet()) {
+                out.write("<th class=\"" + cssClass(count.getKey()) + "\">" + escape(count.getKey().toString())
+                        + "</th><td>" + count.getValue() + "</td>");
+            }
+            out.write("<th>Wall Time (s)</th><td>" + (total == 0 ? 0 : (last - first) / 1000) + "</td></tr></table>\n");
+            if (!systemInfo.isEmpty()) {
+                out.write("<h2>System</h2>\n<table>");
+                for (Map.Entry<String, String> info : systemInfo.entrySet()) {
+                    out.write("<tr><th>" + escape(info.getKey()) + "</th><td>" + escape(info.getValue()) + "</td></tr>");
+                }
+                out.write("</table>\n");
+            }
+            out.write("<h2>Tests</h2>\n<table><tr><th>Test</th><th>Status</th><th>Duration (ms)</th></tr>\n");
+            for (Path file : records) {
+                try (BufferedReader reader = Files.newBufferedReader(file)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        JsonNode record = parse(line);
+                        if (record != null && TYPE_TEST.equals(record.path("type").asText())) {
+                            writeRow(out, record);
+                        }
+                    }
+                }
+            }
+            out.write("</table>\n</body></html>\n");
+        }
+        logger.info("Streamed report rendered to: {}", html);
+    }
+
+    /**
+     * Write one record as a line and flush it
+     * @param record record fields
+     * @throws IOException if the record cannot be written
+     */
+    private void writeRecord(Map<String, Object> record) throws IOException {
+        writer.write(mapper.writeValueAsString(record));
+        writer.newLine();
+        writer.flush();
+    }
+
+    /**
+     * Write the table row of one test
+     * @param out HTML writer
+     * @param record test record
+     * @throws IOException if the row cannot be written
+     */
+    private static void writeRow(BufferedWriter out, JsonNode record) throws IOException {
+        Status status = status(record);
+        out.write("<tr><td><details><summary>" + escape(record.path("name").asText()) + "</summary>");
+        for (JsonNode log : record.path("logs")) {
+            // Details are framework-generated and may hold markup such as step timing tables
+            out.write("<div class=\"" + cssClass(Status.valueOf(log.path("status").asText().toUpperCase(Locale.ROOT)))
+                    + "\">" + log.path("details").asText(""));
+            if (log.has("exception")) {
+                out.write("<pre>" + escape(log.path("exception").asText()) + "</pre>");
+            }
+            out.write("</div>");
+        }
+        for (JsonNode screenshot : record.path("screenshots")) {
+            String path = escape(screenshot.asText());
+            out.write("<a href=\"" + path + "\">" + path + "</a><br>");
+        }
+        out.write("</details></td><td class=\"" + cssClass(status) + "\">" + escape(status.toString()) + "</td><td>"
+                + (record.path("end").asLong() - record.path("start").asLong()) + "</td></tr>\n");
+    }
+
+    /**
+     * Parse one NDJSON line
+     * @param line line
+     * @return record, or null if the line is blank or malformed
+     */
+    private static JsonNode parse(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return mapper.readTree(line);
+        } catch (IOException e) {
+            logger.warn("Skipping malformed report record: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Get the status of a test record
+     * @param record test record
+     * @return status
+     */
+    private static Status status(JsonNode record) {
+        return Status.valueOf(record.path("status").asText("info").toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Get the CSS class of a status
+     * @param status status
+     * @return CSS class name
+     */
+    private static String cssClass(Status status) {
+        return status.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Escape text for HTML
+     * @param text text
+     * @return escaped text
+     */
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
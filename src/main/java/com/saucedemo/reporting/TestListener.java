@@ -1,6 +1,11 @@
 package com.saucedemo.reporting;
 
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.saucedemo.core.DriverContext;
+import com.saucedemo.core.NetworkInterception;
+import com.saucedemo.utils.DataSets;
+import com.saucedemo.utils.RetryAnalyzer;
 import com.saucedemo.utils.ScreenshotUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -9,14 +14,29 @@ import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Listener for TestNG tests
  */
 public class TestListener implements ITestListener {
     private static final Logger logger = LogManager.getLogger(TestListener.class);
+    private static final MethodHandle NO_DRIVER_FIELD = MethodHandles.dropArguments(
+            MethodHandles.constant(WebDriver.class, null), 0, Object.class);
+    private static final ClassValue<MethodHandle> DRIVER_FIELDS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return findDriverField(type);
+        }
+    };
 
     /**
      * Called when test starts
@@ -25,7 +45,7 @@ public class TestListener implements ITestListener {
     @Override
     public void onTestStart(ITestResult result) {
         logger.info("Test Started: {}", result.getName());
-        ExtentReportManager.createTest(result.getMethod().getMethodName());
+        createTest(result);
     }
 
     /**
@@ -35,7 +55,9 @@ public class TestListener implements ITestListener {
     @Override
     public void onTestSuccess(ITestResult result) {
         logger.info("Test Passed: {}", result.getName());
-        ExtentReportManager.getTest().log(Status.PASS, "Test passed");
+        ExtentReportManager.log(result, Status.PASS, describe(result) + " passed");
+        DurationHistory.record(result);
+        finishTest(result);
     }
 
     /**
@@ -47,17 +69,28 @@ public class TestListener implements ITestListener {
         logger.error("Test Failed: {}", result.getName());
         logger.error("Exception: {}", result.getThrowable().getMessage());
         
+        DurationHistory.record(result);
+
         // Log exception to extent report
-        ExtentReportManager.getTest().log(Status.FAIL, result.getThrowable());
+        if (DataSets.isDataRow(result)) {
+            ExtentReportManager.log(result, Status.FAIL, describe(result) + " failed");
+        }
+        ExtentReportManager.log(result, Status.FAIL, result.getThrowable());
+        Object retryNote = result.getAttribute(RetryAnalyzer.RETRY_NOTE_ATTRIBUTE);
+        if (retryNote != null) {
+            ExtentReportManager.log(result, Status.INFO, retryNote.toString());
+        }
+        String testLog = TestLogBuffer.getTestLog();
+        if (!testLog.isEmpty()) {
+            ExtentReportManager.log(result, Status.INFO, MarkupHelper.createCodeBlock(testLog));
+        }
         
         // Take screenshot if WebDriver is available
         WebDriver driver = getDriverFromTest(result);
         if (driver != null) {
-            String screenshotPath = ScreenshotUtils.takeScreenshot(driver, result.getName());
-            if (screenshotPath != null) {
-                ExtentReportManager.getTest().addScreenCaptureFromPath(screenshotPath);
-            }
+            ExtentReportManager.addScreenCapture(result, ScreenshotUtils.captureAsync(driver, result.getName()));
         }
+        finishTest(result);
     }
 
     /**
@@ -67,7 +100,16 @@ public class TestListener implements ITestListener {
     @Override
     public void onTestSkipped(ITestResult result) {
         logger.info("Test Skipped: {}", result.getName());
-        ExtentReportManager.getTest().log(Status.SKIP, "Test skipped");
+        // Tests skipped by a failed configuration method never reach onTestStart
+        createTest(result);
+        if (result.wasRetried()) {
+            ExtentReportManager.log(result, Status.WARNING, result.getThrowable());
+            ExtentReportManager.log(result, Status.SKIP,
+                    String.valueOf(result.getAttribute(RetryAnalyzer.RETRY_NOTE_ATTRIBUTE)));
+        } else {
+            ExtentReportManager.log(result, Status.SKIP, describe(result) + " skipped");
+        }
+        finishTest(result);
     }
 
     /**
@@ -95,46 +137,103 @@ public class TestListener implements ITestListener {
     @Override
     public void onFinish(ITestContext context) {
         logger.info("Test Suite Finished: {}", context.getName());
-        ExtentReportManager.flushReports();
+        DurationHistory.flush();
+    }
+
+    /**
+     * Attach the step timings, page performance and network counters of the test to its report node and stop tracking it
+     * @param result test result
+     */
+    private void finishTest(ITestResult result) {
+        Collection<StepMetrics.StepStats> steps = StepMetrics.endTest();
+        List<PagePerformance.Sample> pages = PagePerformance.endTest();
+        if (DataSets.isDataRow(result)) {
+            // Rows share one node; keep them to one entry each
+            ExtentReportManager.endTest(result);
+            return;
+        }
+        if (!steps.isEmpty()) {
+            ExtentReportManager.log(result, Status.INFO, MarkupHelper.createTable(StepMetrics.toTable(steps)));
+        }
+        if (!pages.isEmpty()) {
+            ExtentReportManager.log(result, Status.INFO, MarkupHelper.createTable(PagePerformance.toTable(pages)));
+        }
+        Map<String, String> network = NetworkInterception.getTestStats(DriverContext.getDriver());
+        if (!network.isEmpty()) {
+            ExtentReportManager.log(result, Status.INFO, "Network: " + network);
+        }
+        ExtentReportManager.endTest(result);
+    }
+
+    /**
+     * Create the report node of a test; the rows of a data set share one node per test method
+     * @param result test result
+     */
+    private void createTest(ITestResult result) {
+        String methodName = result.getMethod().getMethodName();
+        if (DataSets.isDataRow(result)) {
+            ExtentReportManager.createRowTest(result,
+                    result.getTestContext().getName() + "#" + result.getMethod().getQualifiedName(),
+                    methodName + " (data set)", methodName + " " + Arrays.toString(result.getParameters()));
+        } else {
+            ExtentReportManager.createTest(result, methodName);
+        }
+    }
+
+    /**
+     * Describe a test in its log entries
+     * @param result test result
+     * @return "Test", or "Row [values]" for a data set row
+     */
+    private static String describe(ITestResult result) {
+        return DataSets.isDataRow(result) ? "Row " + Arrays.toString(result.getParameters()) : "Test";
     }
 
     /**
-     * Get WebDriver from test instance
+     * Get WebDriver for the test, preferring the session bound to the current thread
      * @param result test result
      * @return WebDriver instance or null if not found
      */
-    private WebDriver getDriverFromTest(ITestResult result) {
+    WebDriver getDriverFromTest(ITestResult result) {
+        WebDriver driver = DriverContext.getDriver();
+        if (driver != null) {
+            return driver;
+        }
+        // Test classes outside the framework keep their driver in a field; the lookup is cached per class
         Object testInstance = result.getInstance();
-        
-        // Try to find a field of type WebDriver in the test instance
-        for (Field field : testInstance.getClass().getDeclaredFields()) {
-            if (field.getType() == WebDriver.class) {
-                try {
-                    field.setAccessible(true);
-                    return (WebDriver) field.get(testInstance);
-                } catch (Exception e) {
-                    logger.error("Failed to get WebDriver from test", e);
-                }
+        if (testInstance != null) {
+            try {
+                driver = (WebDriver) DRIVER_FIELDS.get(testInstance.getClass()).invoke(testInstance);
+            } catch (Throwable e) {
+                logger.error("Failed to get WebDriver from test", e);
             }
         }
-        
-        // Try to find WebDriver in parent class if not found in current class
-        Class<?> superClass = testInstance.getClass().getSuperclass();
-        while (superClass != null) {
-            for (Field field : superClass.getDeclaredFields()) {
-                if (field.getType() == WebDriver.class) {
+        if (driver == null) {
+            logger.error("Could not find WebDriver instance in test class");
+        }
+        return driver;
+    }
+
+    /**
+     * Find the first WebDriver field of a class or its superclasses
+     * @param type test class
+     * @return getter taking the test instance, or a handle returning null if there is no such field
+     */
+    private static MethodHandle findDriverField(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (WebDriver.class.isAssignableFrom(field.getType()) && !Modifier.isStatic(field.getModifiers())) {
                     try {
                         field.setAccessible(true);
-                        return (WebDriver) field.get(testInstance);
-                    } catch (Exception e) {
-                        logger.error("Failed to get WebDriver from test", e);
+                        return MethodHandles.lookup().unreflectGetter(field)
+                                .asType(MethodType.methodType(WebDriver.class, Object.class));
+                    } catch (IllegalAccessException | RuntimeException e) {
+                        logger.warn("Cannot read WebDriver field {}.{}: {}",
+                                current.getName(), field.getName(), e.getMessage());
                     }
                 }
             }
-            superClass = superClass.getSuperclass();
         }
-        
-        logger.error("Could not find WebDriver instance in test class");
-        return null;
+        return NO_DRIVER_FIELD;
     }
-}
\ No newline at end of file
+}
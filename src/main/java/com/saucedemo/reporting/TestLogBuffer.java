@@ -0,0 +1,138 @@
+package com.saucedemo.reporting;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Log4j appender that keeps the log events of each running test in memory.
+ * Events are routed by the testId ThreadContext key set by {@link #startTest()}; the
+ * buffer is read when the test fails and discarded by {@link #endTest()}, so the debug
+ * trail of a test only reaches the report when it is needed. With asynchronous loggers,
+ * events logged just before a failure may still be queued when the buffer is read.
+ */
+@Plugin(name = "TestLogBuffer", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public final class TestLogBuffer extends AbstractAppender {
+    public static final String TEST_ID_KEY = "testId";
+    private static final String TRUNCATED = "... (log truncated)\n";
+    private static final Map<String, Buffer> buffers = new ConcurrentHashMap<>();
+    private static final AtomicLong testIds = new AtomicLong();
+
+    private final PatternLayout layout;
+    private final int maxChars;
+
+    /**
+     * Constructor
+     * @param name appender name
+     * @param filter filter, or null
+     * @param layout layout of each event
+     * @param maxChars maximum buffered characters per test
+     */
+    private TestLogBuffer(String name, Filter filter, PatternLayout layout, int maxChars) {
+        super(name, filter, layout, true, Property.EMPTY_ARRAY);
+        this.layout = layout;
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * Create the appender from the log4j2 configuration
+     * @param name appender name
+     * @param maxKb maximum buffered log per test in KB
+     * @param layout layout of each event; a pattern layout
+     * @param filter filter, or null
+     * @return appender
+     */
+    @PluginFactory
+    public static TestLogBuffer createAppender(@PluginAttribute("name") String name,
+                                               @PluginAttribute(value = "maxKb", defaultInt = 256) int maxKb,
+                                               @PluginElement("Layout") PatternLayout layout,
+                                               @PluginElement("Filter") Filter filter) {
+        PatternLayout patternLayout = layout != null ? layout
+                : PatternLayout.newBuilder().withPattern("%d{HH:mm:ss.SSS} %-5level %logger{1} - %msg%n").build();
+        return new TestLogBuffer(name, filter, patternLayout, maxKb * 1024);
+    }
+
+    /**
+     * Append an event to the buffer of the test it was logged from
+     * @param event log event
+     */
+    @Override
+    public void append(LogEvent event) {
+        String testId = event.getContextData().getValue(TEST_ID_KEY);
+        Buffer buffer = testId == null ? null : buffers.get(testId);
+        if (buffer == null) {
+            return;
+        }
+        buffer.lock.lock();
+        try {
+            if (buffer.text.length() < maxChars) {
+                layout.serialize(event, buffer.text);
+                if (buffer.text.length() >= maxChars) {
+                    buffer.text.append(TRUNCATED);
+                }
+            }
+        } finally {
+            buffer.lock.unlock();
+        }
+    }
+
+    /**
+     * Start buffering the events logged by the current thread
+     */
+    public static void startTest() {
+        String testId = String.valueOf(testIds.incrementAndGet());
+        buffers.put(testId, new Buffer());
+        ThreadContext.put(TEST_ID_KEY, testId);
+    }
+
+    /**
+     * Get the events buffered for the test running on the current thread
+     * @return formatted events, empty if none were buffered
+     */
+    public static String getTestLog() {
+        String testId = ThreadContext.get(TEST_ID_KEY);
+        Buffer buffer = testId == null ? null : buffers.get(testId);
+        if (buffer == null) {
+            return "";
+        }
+        buffer.lock.lock();
+        try {
+            return buffer.text.toString();
+        } finally {
+            buffer.lock.unlock();
+        }
+    }
+
+    /**
+     * Stop buffering for the current thread and discard its events
+     */
+    public static void endTest() {
+        String testId = ThreadContext.get(TEST_ID_KEY);
+        if (testId != null) {
+            buffers.remove(testId);
+            ThreadContext.remove(TEST_ID_KEY);
+        }
+    }
+
+    /**
+     * Log text of one test
+     */
+    private static class Buffer {
+        private final StringBuilder text = new StringBuilder(1024);
+        private final ReentrantLock lock = new ReentrantLock();
+    }
+}
@@ -3,64 +3,108 @@ package com.saucedemo.utils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 /**
- * Configuration reader for properties files
+ * Configuration reader for properties files.
+ * Configuration is loaded once per JVM into an immutable snapshot; instances are
+ * cheap views of the current snapshot. Values are layered as, from lowest to highest
+ * precedence: config.properties, config.&lt;environment&gt;.properties, environment
+ * variables (base.url -&gt; BASE_URL) and system properties.
  */
 public class ConfigReader {
-    private final Properties properties;
     private static final Logger logger = LogManager.getLogger(ConfigReader.class);
-    private static final String DEFAULT_CONFIG_PATH = "src/test/resources/config.properties";
-    private static final String ENV_CONFIG_FORMAT = "src/test/resources/config.%s.properties";
+    private static final String DEFAULT_CONFIG_FILE = "config.properties";
+    private static final String ENV_CONFIG_FORMAT = "config.%s.properties";
+    private static final String FILESYSTEM_CONFIG_DIR = "src/test/resources/";
+    private static final ConfigReader INSTANCE = new ConfigReader();
+    private static volatile Snapshot snapshot = load();
+    private static final ReentrantLock watchLock = new ReentrantLock();
+    private static volatile Thread watcher;
 
     /**
-     * Constructor
+     * Constructor. Does no I/O; reads go to the process-wide snapshot.
      */
     public ConfigReader() {
-        properties = new Properties();
-        loadProperties();
     }
 
     /**
-     * Load properties from files
+     * Get the shared instance
+     * @return ConfigReader instance
      */
-    private void loadProperties() {
-        String environment = System.getProperty("environment", "dev");
-        
-        // First load default properties
-        loadPropertiesFromFile(DEFAULT_CONFIG_PATH);
-        
-        // Then try to load environment-specific properties
-        String envConfigPath = String.format(ENV_CONFIG_FORMAT, environment);
-        if (Files.exists(Paths.get(envConfigPath))) {
-            loadPropertiesFromFile(envConfigPath);
+    public static ConfigReader getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Re-read the configuration files and overrides and publish a new snapshot.
+     * Only values read on each use (e.g. base.url, user credentials, launch.profile,
+     * perf.budget.*) follow a reload; settings that classes copy into constants when they
+     * are first loaded (pool, wait, retry, network interception, checkpoint, screenshot and
+     * report settings) keep their startup values until the JVM restarts.
+     */
+    public static void reload() {
+        snapshot = load();
+        logger.info("Configuration reloaded");
+    }
+
+    /**
+     * Watch the configuration files and reload when they change, if config.watch=true.
+     * See {@link #reload()} for which settings follow a reload.
+     * Intended for long-running runner daemons; does nothing if already watching.
+     */
+    public static void watchIfEnabled() {
+        watchLock.lock();
+        try {
+            startWatcher();
+        } finally {
+            watchLock.unlock();
         }
     }
 
     /**
-     * Load properties from file
-     * @param filePath path to properties file
+     * Start the watcher thread unless disabled or already running; the caller holds the watch lock
      */
-    private void loadPropertiesFromFile(String filePath) {
-        Path path = Paths.get(filePath);
-        if (!Files.exists(path)) {
-            logger.warn("Properties file not found: {}", filePath);
+    private static void startWatcher() {
+        if (watcher != null || !INSTANCE.getBoolean("config.watch", false)) {
             return;
         }
-        
-        try (InputStream input = new FileInputStream(filePath)) {
-            properties.load(input);
-            logger.info("Loaded properties from file: {}", filePath);
-        } catch (IOException e) {
-            logger.error("Failed to load properties from file: {}", filePath, e);
+        Set<Path> directories = new LinkedHashSet<>();
+        for (Path file : snapshot.sources) {
+            directories.add(file.toAbsolutePath().getParent());
         }
+        if (directories.isEmpty()) {
+            logger.warn("config.watch is enabled but no configuration was loaded from the filesystem");
+            return;
+        }
+
+        Thread thread = new Thread(() -> watch(directories), "config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        watcher = thread;
+        logger.info("Watching configuration in: {}", directories);
     }
 
     /**
@@ -69,7 +113,7 @@ public class ConfigReader {
      * @return property value or null if not found
      */
     public String getProperty(String key) {
-        return properties.getProperty(key);
+        return snapshot.values.get(key);
     }
 
     /**
@@ -79,6 +123,207 @@ public class ConfigReader {
      * @return property value or default value
      */
     public String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return snapshot.values.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * Get property value as an int
+     * @param key property key
+     * @param defaultValue default value if not found
+     * @return property value or default value
+     */
+    public int getInt(String key, int defaultValue) {
+        Integer value = parsed(key, "int", Integer::valueOf);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Get property value as a long
+     * @param key property key
+     * @param defaultValue default value if not found
+     * @return property value or default value
+     */
+    public long getLong(String key, long defaultValue) {
+        Long value = parsed(key, "long", Long::valueOf);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Get property value as a double
+     * @param key property key
+     * @param defaultValue default value if not found
+     * @return property value or default value
+     */
+    public double getDouble(String key, double defaultValue) {
+        Double value = parsed(key, "double", Double::valueOf);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Get property value as a boolean
+     * @param key property key
+     * @param defaultValue default value if not found
+     * @return property value or default value
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Boolean value = parsed(key, "boolean", Boolean::valueOf);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Get property value as a Duration. Plain numbers are read in the given unit;
+     * ISO-8601 values such as PT1.5S are also accepted.
+     * @param key property key
+     * @param unit unit of plain numeric values
+     * @param defaultValue default value if not found
+     * @return property value or default value
+     */
+    public Duration getDuration(String key, ChronoUnit unit, Duration defaultValue) {
+        Duration value = parsed(key, "duration:" + unit, raw -> raw.startsWith("P") || raw.startsWith("p")
+                ? Duration.parse(raw) : Duration.of(Long.parseLong(raw), unit));
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Get property value as a URL
+     * @param key property key
+     * @return property value or null if not found
+     */
+    public URL getUrl(String key) {
+        return parsed(key, "url", raw -> {
+            try {
+                return new URL(raw);
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException(e);
+            }
+        });
+    }
+
+    /**
+     * Get a property parsed to a type, caching the parsed value in the current snapshot
+     * @param key property key
+     * @param type cache discriminator for the parsed type
+     * @param parser parser from the raw string
+     * @param <T> parsed type
+     * @return parsed value or null if the property is not set
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T parsed(String key, String type, Function<String, T> parser) {
+        Snapshot current = snapshot;
+        String raw = current.values.get(key);
+        if (raw == null) {
+            return null;
+        }
+        return (T) current.parsed.computeIfAbsent(type + ":" + key, cacheKey -> {
+            try {
+                return parser.apply(raw.trim());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid " + type + " value for " + key + ": " + raw, e);
+            }
+        });
+    }
+
+    /**
+     * Load the configuration files and overrides
+     * @return new snapshot
+     */
+    private static Snapshot load() {
+        String environment = System.getProperty("environment", "dev");
+        Properties properties = new Properties();
+        Set<Path> sources = new LinkedHashSet<>();
+
+        // First load default properties, then environment-specific ones
+        loadProperties(DEFAULT_CONFIG_FILE, properties, sources);
+        loadProperties(String.format(ENV_CONFIG_FORMAT, environment), properties, sources);
+
+        Map<String, String> values = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, properties.getProperty(key));
+        }
+        for (String key : properties.stringPropertyNames()) {
+            String envValue = System.getenv(key.toUpperCase().replace('.', '_'));
+            if (envValue != null) {
+                values.put(key, envValue);
+            }
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            values.put(key, System.getProperty(key));
+        }
+        return new Snapshot(values, sources);
+    }
+
+    /**
+     * Load a properties file from the classpath, falling back to the filesystem
+     * @param fileName properties file name
+     * @param properties properties to load into
+     * @param sources collects filesystem paths of the loaded files
+     */
+    private static void loadProperties(String fileName, Properties properties, Set<Path> sources) {
+        URL resource = Thread.currentThread().getContextClassLoader().getResource(fileName);
+        if (resource != null) {
+            try (InputStream input = resource.openStream()) {
+                properties.load(input);
+                logger.info("Loaded properties from classpath: {}", resource);
+                if ("file".equals(resource.getProtocol())) {
+                    sources.add(Paths.get(resource.toURI()));
+                }
+                return;
+            } catch (IOException | URISyntaxException e) {
+                logger.error("Failed to load properties from classpath: {}", resource, e);
+            }
+        }
+
+        Path path = Paths.get(FILESYSTEM_CONFIG_DIR, fileName);
+        if (!Files.exists(path)) {
+            logger.warn("Properties file not found: {}", fileName);
+            return;
+        }
+        try (InputStream input = Files.newInputStream(path)) {
+            properties.load(input);
+            sources.add(path);
+            logger.info("Loaded properties from file: {}", path);
+        } catch (IOException e) {
+            logger.error("Failed to load properties from file: {}", path, e);
+        }
+    }
+
+    /**
+     * Reload whenever a properties file changes in the watched directories
+     * @param directories directories containing the loaded configuration files
+     */
+    private static void watch(Set<Path> directories) {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            for (Path directory : directories) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_CREATE);
+            }
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean changed = key.pollEvents().stream()
+                        .anyMatch(event -> String.valueOf(event.context()).endsWith(".properties"));
+                key.reset();
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.error("Stopped watching configuration", e);
+        }
+    }
+
+    /**
+     * Immutable configuration values plus a cache of their parsed forms
+     */
+    private static class Snapshot {
+        private final Map<String, String> values;
+        private final Set<Path> sources;
+        private final Map<String, Object> parsed = new ConcurrentHashMap<>();
+
+        Snapshot(Map<String, String> values, Set<Path> sources) {
+            this.values = Collections.unmodifiableMap(values);
+            this.sources = Collections.unmodifiableSet(sources);
+        }
     }
-}
\ No newline at end of file
+}
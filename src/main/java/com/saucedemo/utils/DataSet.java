@@ -0,0 +1,21 @@
+package com.saucedemo.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the CSV or JSON file whose rows feed a test method through
+ * {@link DataSets#dataSet(java.lang.reflect.Method)} or {@link DataSets#parallelDataSet(java.lang.reflect.Method)}.
+ * Columns are passed to the method's parameters in file order.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface DataSet {
+    /**
+     * Classpath resource of the data file, e.g. "data/login-errors.csv"
+     * @return resource path ending in .csv or .json
+     */
+    String value();
+}
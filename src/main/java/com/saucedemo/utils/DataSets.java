@@ -0,0 +1,331 @@
+package com.saucedemo.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestResult;
+import org.testng.annotations.DataProvider;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Data providers that stream the rows of a {@link DataSet} file.
+ * With {@link #SEQUENTIAL}, rows are read one at a time as TestNG asks for them, so a data
+ * set is never held in memory as a whole. TestNG reads a parallel provider's whole iterator
+ * before it starts any row, so {@link #PARALLEL} holds every row, and a pending invocation
+ * per row, in memory; use it only for small data sets. CSV files have a header line followed
+ * by one row per line; JSON files hold an array of objects, read with Jackson's streaming
+ * parser, whose fields are passed in the order of the first object. Values are converted to
+ * the method's parameter types (String, int, long, double, boolean).
+ */
+public class DataSets {
+    public static final String SEQUENTIAL = "dataSet";
+    public static final String PARALLEL = "parallelDataSet";
+    private static final Logger logger = LogManager.getLogger(DataSets.class);
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private DataSets() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Rows of the method's data set, run one after another
+     * @param method test method annotated with {@link DataSet}
+     * @return lazy row iterator
+     */
+    @DataProvider(name = SEQUENTIAL)
+    public static Iterator<Object[]> dataSet(Method method) {
+        return rows(method);
+    }
+
+    /**
+     * Rows of the method's data set, run in parallel on the suite's data-provider threads.
+     * TestNG reads all rows before running any, so the data set is held in memory.
+     * @param method test method annotated with {@link DataSet}
+     * @return row iterator
+     */
+    @DataProvider(name = PARALLEL, parallel = true)
+    public static Iterator<Object[]> parallelDataSet(Method method) {
+        return rows(method);
+    }
+
+    /**
+     * Check whether a result is one row of a data set
+     * @param result test result
+     * @return true if the test method takes its parameters from a {@link DataSet}
+     */
+    public static boolean isDataRow(ITestResult result) {
+        return result.getParameters().length > 0
+                && result.getMethod().getConstructorOrMethod().getMethod().isAnnotationPresent(DataSet.class);
+    }
+
+    /**
+     * Stream the rows of a data file
+     * @param resource classpath resource ending in .csv or .json
+     * @param types parameter types the columns are converted to
+     * @return lazy row iterator; the file is closed after the last row
+     */
+    public static Iterator<Object[]> rows(String resource, Class<?>[] types) {
+        InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalArgumentException("Data set not found on the classpath: " + resource);
+        }
+        logger.info("Streaming data set: {}", resource);
+        try {
+            String name = resource.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return new CsvRows(resource, in, types);
+            }
+            if (name.endsWith(".json")) {
+                return new JsonRows(resource, in, types);
+            }
+            in.close();
+            throw new IllegalArgumentException("Unsupported data set format: " + resource);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open data set " + resource, e);
+        }
+    }
+
+    /**
+     * Stream the rows of the data set a method is annotated with
+     * @param method test method
+     * @return lazy row iterator
+     */
+    private static Iterator<Object[]> rows(Method method) {
+        DataSet dataSet = method.getAnnotation(DataSet.class);
+        if (dataSet == null) {
+            throw new IllegalArgumentException(method.getName() + " has no @DataSet annotation");
+        }
+        return rows(dataSet.value(), method.getParameterTypes());
+    }
+
+    /**
+     * Convert a column value to a parameter type
+     * @param value column value, possibly null
+     * @param type parameter type
+     * @return converted value
+     */
+    private static Object convert(String value, Class<?> type) {
+        if (value == null || type == String.class || type == Object.class) {
+            return value;
+        }
+        if (type == int.class || type == Integer.class) {
+            return Integer.parseInt(value.trim());
+        }
+        if (type == long.class || type == Long.class) {
+            return Long.parseLong(value.trim());
+        }
+        if (type == double.class || type == Double.class) {
+            return Double.parseDouble(value.trim());
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return Boolean.parseBoolean(value.trim());
+        }
+        throw new IllegalArgumentException("Unsupported data set parameter type: " + type.getName());
+    }
+
+    /**
+     * Row iterator that reads ahead by one row and closes its source after the last one
+     */
+    private abstract static class Rows implements Iterator<Object[]> {
+        private final String resource;
+        private final Class<?>[] types;
+        private final Closeable source;
+        private List<String> next;
+        private boolean done;
+        protected int rowNumber;
+
+        Rows(String resource, Class<?>[] types, Closeable source) {
+            this.resource = resource;
+            this.types = types;
+            this.source = source;
+        }
+
+        /**
+         * Read the next row
+         * @return column values, or null at the end of the file
+         * @throws IOException if the file cannot be read or is malformed
+         */
+        protected abstract List<String> readRow() throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = readRow();
+                } catch (IOException | RuntimeException e) {
+                    close();
+                    throw new IllegalStateException("Failed to read row " + rowNumber + " of " + resource, e);
+                }
+                if (next == null) {
+                    close();
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException(resource);
+            }
+            List<String> values = next;
+            next = null;
+            if (values.size() != types.length) {
+                throw new IllegalArgumentException(String.format("Row %d of %s has %d values, the test takes %d",
+                        rowNumber, resource, values.size(), types.length));
+            }
+            Object[] row = new Object[types.length];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = convert(values.get(i), types[i]);
+            }
+            return row;
+        }
+
+        /**
+         * Close the source once; later calls to hasNext return false
+         */
+        private void close() {
+            done = true;
+            try {
+                source.close();
+            } catch (IOException e) {
+                logger.debug("Ignoring error while closing {}: {}", resource, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Rows of a CSV file with a header line. Fields may be quoted; quotes inside quoted
+     * fields are doubled. Blank lines are skipped.
+     */
+    private static class CsvRows extends Rows {
+        private final BufferedReader reader;
+
+        CsvRows(String resource, InputStream in, Class<?>[] types) throws IOException {
+            this(resource, new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), types);
+        }
+
+        private CsvRows(String resource, BufferedReader reader, Class<?>[] types) throws IOException {
+            super(resource, types, reader);
+            this.reader = reader;
+            // Header line
+            reader.readLine();
+        }
+
+        @Override
+        protected List<String> readRow() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+            rowNumber++;
+            return parseLine(line);
+        }
+
+        /**
+         * Split one CSV line into fields
+         * @param line line
+         * @return field values
+         */
+        private static List<String> parseLine(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    /**
+     * Rows of a JSON array of objects, read token by token
+     */
+    private static class JsonRows extends Rows {
+        private final JsonParser parser;
+        private List<String> columns;
+
+        JsonRows(String resource, InputStream in, Class<?>[] types) throws IOException {
+            this(resource, jsonFactory.createParser(in), types);
+        }
+
+        private JsonRows(String resource, JsonParser parser, Class<?>[] types) throws IOException {
+            super(resource, types, parser);
+            this.parser = parser;
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new IOException(resource + " must hold a JSON array of objects");
+            }
+        }
+
+        @Override
+        protected List<String> readRow() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("Expected an object, found " + token);
+            }
+            rowNumber++;
+            Map<String, String> fields = new LinkedHashMap<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (value.isStructStart()) {
+                    throw new IOException("Field " + name + " must hold a scalar value");
+                }
+                fields.put(name, value == JsonToken.VALUE_NULL ? null : parser.getText());
+            }
+            if (columns == null) {
+                columns = new ArrayList<>(fields.keySet());
+            }
+            List<String> values = new ArrayList<>(columns.size());
+            for (String column : columns) {
+                values.add(fields.get(column));
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.InvalidElementStateException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+/**
+ * Classifies test failures to decide whether a retry can help
+ */
+public class FailureClassifier {
+
+    /**
+     * Failure categories
+     */
+    public enum Category {
+        /** Assertion failed - a real defect, never retried */
+        ASSERTION(false, false),
+        /** Browser session died or could not be created */
+        SESSION_LOST(true, true),
+        /** Wait or script timed out */
+        TIMEOUT(true, false),
+        /** Element missing, stale or not interactable */
+        ELEMENT_STATE(true, false),
+        /** Any other WebDriver error, e.g. a broken connection to the driver */
+        WEBDRIVER(true, true),
+        /** Anything else - a bug in the test or framework, never retried */
+        OTHER(false, false);
+
+        private final boolean retryable;
+        private final boolean freshSession;
+
+        Category(boolean retryable, boolean freshSession) {
+            this.retryable = retryable;
+            this.freshSession = freshSession;
+        }
+
+        /**
+         * Check if failures of this category are worth retrying
+         * @return true if transient
+         */
+        public boolean isRetryable() {
+            return retryable;
+        }
+
+        /**
+         * Check if the retry should not reuse the failed session
+         * @return true if the session should be discarded
+         */
+        public boolean needsFreshSession() {
+            return freshSession;
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private FailureClassifier() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Classify a failure, looking through wrapping exceptions
+     * @param throwable failure
+     * @return category of the first recognized throwable in the cause chain
+     */
+    public static Category classify(Throwable throwable) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            Category category = classifySingle(current);
+            if (category != Category.OTHER) {
+                return category;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return Category.OTHER;
+    }
+
+    /**
+     * Classify a single throwable without looking at its causes
+     * @param throwable failure
+     * @return category
+     */
+    private static Category classifySingle(Throwable throwable) {
+        if (throwable instanceof AssertionError) {
+            return Category.ASSERTION;
+        }
+        if (throwable instanceof NoSuchSessionException || throwable instanceof SessionNotCreatedException
+                || throwable instanceof UnreachableBrowserException) {
+            return Category.SESSION_LOST;
+        }
+        if (throwable instanceof TimeoutException) {
+            return Category.TIMEOUT;
+        }
+        if (throwable instanceof NotFoundException || throwable instanceof StaleElementReferenceException
+                || throwable instanceof InvalidElementStateException) {
+            return Category.ELEMENT_STATE;
+        }
+        if (throwable instanceof WebDriverException) {
+            return Category.WEBDRIVER;
+        }
+        return Category.OTHER;
+    }
+}
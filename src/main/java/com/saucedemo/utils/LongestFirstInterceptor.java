@@ -0,0 +1,59 @@
+package com.saucedemo.utils;
+
+import com.saucedemo.reporting.DurationHistory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders test methods longest-processing-time first using {@link DurationHistory}, so
+ * long tests start early and workers finish close together. Tests without history are
+ * treated as the median known duration. Disabled with schedule.longest.first=false.
+ */
+public class LongestFirstInterceptor implements IMethodInterceptor {
+    private static final Logger logger = LogManager.getLogger(LongestFirstInterceptor.class);
+
+    /**
+     * Reorder the methods of a test
+     * @param methods methods in declaration order
+     * @param context test context
+     * @return methods, longest first
+     */
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!ConfigReader.getInstance().getBoolean("schedule.longest.first", true)) {
+            return methods;
+        }
+        Map<String, Long> estimates = DurationHistory.getEstimates();
+        if (estimates.isEmpty()) {
+            return methods;
+        }
+        String browser = context.getCurrentXmlTest().getParameter("browser");
+        long fallback = median(estimates.values());
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.comparingLong((IMethodInstance method) -> estimates.getOrDefault(
+                DurationHistory.keyFor(method.getMethod(), browser), fallback)).reversed());
+        logger.info("Scheduled {} method(s) of {} longest first", ordered.size(), context.getName());
+        return ordered;
+    }
+
+    /**
+     * Get the median of a set of durations
+     * @param values durations
+     * @return median value
+     */
+    private static long median(Iterable<Long> values) {
+        List<Long> sorted = new ArrayList<>();
+        values.forEach(sorted::add);
+        sorted.sort(null);
+        return sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,36 @@
+package com.saucedemo.utils;
+
+import com.saucedemo.reporting.PagePerformance;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+import java.util.List;
+
+/**
+ * Listener that fails a passing test when a page it visited exceeds its max performance budget.
+ * Percentile budgets span the whole run and are checked once at the end of the suite.
+ */
+public class PerformanceBudgetListener implements IInvokedMethodListener {
+    private static final Logger logger = LogManager.getLogger(PerformanceBudgetListener.class);
+
+    /**
+     * Check the max budgets of the pages captured by a test method that passed
+     * @param method invoked method
+     * @param result test result
+     */
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod() || result.getStatus() != ITestResult.SUCCESS) {
+            return;
+        }
+        List<String> violations = PagePerformance.checkTestBudgets();
+        if (!violations.isEmpty()) {
+            logger.warn("Performance budgets exceeded by {}: {}", result.getName(), violations);
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(new AssertionError("Performance budgets exceeded: " + String.join("; ", violations)));
+        }
+    }
+}
@@ -5,13 +5,38 @@ import org.apache.logging.log4j.Logger;
 import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
 
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
- * Retry analyzer for failed tests
+ * Retry analyzer for failed tests.
+ * Only transient failures (see {@link FailureClassifier}) are retried, up to retry.max.count
+ * times per test and retry.budget times per suite, with exponential back-off between attempts.
+ * Sessions that may be broken are discarded by BaseTest, so retries run on a fresh or reset session.
  */
 public class RetryAnalyzer implements IRetryAnalyzer {
+    /** Result attribute describing the retry decision, for the report */
+    public static final String RETRY_NOTE_ATTRIBUTE = "retry.note";
+
     private static final Logger logger = LogManager.getLogger(RetryAnalyzer.class);
+    private static final ConfigReader config = ConfigReader.getInstance();
+    private static final int MAX_RETRY_COUNT = config.getInt("retry.max.count", 2);
+    private static final int RETRY_BUDGET = config.getInt("retry.budget", 10);
+    private static final long BACKOFF_MILLIS = config.getDuration(
+            "retry.backoff.millis", ChronoUnit.MILLIS, Duration.ofSeconds(1)).toMillis();
+    private static final long MAX_BACKOFF_MILLIS = config.getDuration(
+            "retry.backoff.max.millis", ChronoUnit.MILLIS, Duration.ofSeconds(10)).toMillis();
+
+    private static final AtomicInteger budgetUsed = new AtomicInteger();
+    private static final AtomicInteger budgetDenied = new AtomicInteger();
+    private static final LongAdder retryCostMillis = new LongAdder();
+
     private int retryCount = 0;
-    private static final int MAX_RETRY_COUNT = 2;
 
     /**
      * Retry failed test
@@ -20,11 +45,55 @@ public class RetryAnalyzer implements IRetryAnalyzer {
      */
     @Override
     public boolean retry(ITestResult result) {
-        if (retryCount < MAX_RETRY_COUNT) {
-            logger.info("Retrying test: {} - Retry #{}", result.getName(), retryCount + 1);
-            retryCount++;
-            return true;
+        FailureClassifier.Category category = FailureClassifier.classify(result.getThrowable());
+        if (!category.isRetryable()) {
+            logger.info("Not retrying test: {} - {} failure", result.getName(), category);
+            result.setAttribute(RETRY_NOTE_ATTRIBUTE, "Not retried: " + category + " failure");
+            return false;
+        }
+        if (retryCount >= MAX_RETRY_COUNT) {
+            return false;
+        }
+        if (budgetUsed.getAndUpdate(used -> used < RETRY_BUDGET ? used + 1 : used) >= RETRY_BUDGET) {
+            budgetDenied.incrementAndGet();
+            logger.warn("Not retrying test: {} - suite retry budget of {} is used up", result.getName(), RETRY_BUDGET);
+            result.setAttribute(RETRY_NOTE_ATTRIBUTE, "Not retried: suite retry budget used up");
+            return false;
+        }
+        retryCount++;
+        long backoffMillis = Math.min(BACKOFF_MILLIS << (retryCount - 1), MAX_BACKOFF_MILLIS);
+        long attemptMillis = Math.max(0, result.getEndMillis() - result.getStartMillis());
+        retryCostMillis.add(attemptMillis + backoffMillis);
+
+        String note = String.format("Retry %d/%d after %s failure: failed attempt %.1f s, back-off %.1f s",
+                retryCount, MAX_RETRY_COUNT, category, attemptMillis / 1000.0, backoffMillis / 1000.0);
+        logger.info("Retrying test: {} - {}", result.getName(), note);
+        result.setAttribute(RETRY_NOTE_ATTRIBUTE, note);
+        sleep(backoffMillis);
+        return true;
+    }
+
+    /**
+     * Get suite-wide retry metrics as key/value pairs for the report
+     * @return map of metric name to value
+     */
+    public static Map<String, String> getMetrics() {
+        Map<String, String> metrics = new LinkedHashMap<>();
+        metrics.put("Retries", budgetUsed.get() + " of " + RETRY_BUDGET);
+        metrics.put("Retries Denied by Budget", String.valueOf(budgetDenied.get()));
+        metrics.put("Retry Cost (s)", String.format("%.1f", retryCostMillis.sum() / 1000.0));
+        return metrics;
+    }
+
+    /**
+     * Wait before the next attempt
+     * @param millis back-off
+     */
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        return false;
     }
-}
\ No newline at end of file
+}
@@ -1,23 +1,50 @@
 package com.saucedemo.utils;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
-import java.io.File;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Utilities for taking screenshots
+ * Utilities for taking screenshots.
+ * Only the capture itself runs on the test thread; encoding and disk writes are
+ * handed to a bounded background executor.
  */
 public class ScreenshotUtils {
     private static final Logger logger = LogManager.getLogger(ScreenshotUtils.class);
     private static final String SCREENSHOT_DIR = "target/screenshots/";
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final AtomicLong sequence = new AtomicLong();
+
+    private static final ConfigReader config = ConfigReader.getInstance();
+    private static final String FORMAT = format(config.getProperty("screenshot.format", "png"));
+    private static final float QUALITY = (float) config.getDouble("screenshot.quality", 0.8);
+    private static final ThreadPoolExecutor writer = createWriter(
+            config.getInt("screenshot.writer.threads", 2),
+            config.getInt("screenshot.queue.size", 32));
 
     /**
      * Private constructor to prevent instantiation
@@ -27,37 +54,144 @@ public class ScreenshotUtils {
     }
 
     /**
-     * Take screenshot and save to file
+     * Take screenshot and save to file, waiting for the write to finish
      * @param driver WebDriver instance
      * @param testName name of test
      * @return path to screenshot file
      */
     public static String takeScreenshot(WebDriver driver, String testName) {
+        return captureAsync(driver, testName).join();
+    }
+
+    /**
+     * Capture a screenshot on the calling thread and encode and save it in the background
+     * @param driver WebDriver instance
+     * @param testName name of test
+     * @return future completed with the path to the screenshot file, or null if it could not be saved
+     */
+    public static CompletableFuture<String> captureAsync(WebDriver driver, String testName) {
         if (driver == null) {
             logger.error("Cannot take screenshot - driver is null");
-            return null;
-        }
-        
-        // Create screenshots directory if it doesn't exist
-        File directory = new File(SCREENSHOT_DIR);
-        if (!directory.exists()) {
-            directory.mkdirs();
-        }
-        
-        // Create unique filename
-        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
-        String filename = testName + "_" + timestamp + ".png";
-        String filePath = SCREENSHOT_DIR + filename;
-        
+            return CompletableFuture.completedFuture(null);
+        }
+
+        byte[] png;
+        try {
+            png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (Exception e) {
+            logger.error("Failed to capture screenshot", e);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Path path = Paths.get(SCREENSHOT_DIR, uniqueFileName(testName));
+        return CompletableFuture.supplyAsync(() -> save(png, path), writer)
+                .exceptionally(e -> {
+                    logger.error("Failed to save screenshot", e);
+                    return null;
+                });
+    }
+
+    /**
+     * Wait for queued screenshots to be written and stop the background writer
+     * @param timeoutSeconds maximum time to wait
+     */
+    public static void shutdown(long timeoutSeconds) {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                logger.warn("Screenshot writer did not finish within {}s", timeoutSeconds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Encode and write a screenshot
+     * @param png screenshot as PNG bytes
+     * @param path destination file
+     * @return path to screenshot file
+     */
+    private static String save(byte[] png, Path path) {
         try {
-            // Take screenshot
-            File scrFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            FileUtils.copyFile(scrFile, new File(filePath));
-            logger.info("Screenshot saved to: {}", filePath);
-            return filePath;
+            Files.createDirectories(path.getParent());
+            Files.write(path, encode(png));
+            logger.info("Screenshot saved to: {}", path);
+            return path.toString();
         } catch (IOException e) {
-            logger.error("Failed to save screenshot", e);
-            return null;
+            throw new UncheckedIOException(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Convert the PNG returned by the driver to the configured format
+     * @param png screenshot as PNG bytes
+     * @return encoded image bytes
+     * @throws IOException if the image cannot be decoded or encoded
+     */
+    private static byte[] encode(byte[] png) throws IOException {
+        if (!"jpg".equals(FORMAT)) {
+            return png;
+        }
+
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        rgb.createGraphics().drawImage(source, 0, 0, null);
+
+        ImageWriter jpegWriter = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = jpegWriter.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(QUALITY);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 2);
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            jpegWriter.setOutput(stream);
+            jpegWriter.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            jpegWriter.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Build a file name that cannot collide between parallel failures
+     * @param testName name of test
+     * @return file name
+     */
+    private static String uniqueFileName(String testName) {
+        return testName + "_" + LocalDateTime.now().format(TIMESTAMP_FORMAT)
+                + "_" + sequence.incrementAndGet() + "." + FORMAT;
+    }
+
+    /**
+     * Normalize the configured screenshot format
+     * @param value screenshot.format value
+     * @return "png" or "jpg"; png with a warning for unsupported formats
+     */
+    private static String format(String value) {
+        String format = value.trim().toLowerCase(Locale.ROOT);
+        if ("jpg".equals(format) || "jpeg".equals(format)) {
+            return "jpg";
+        }
+        if (!"png".equals(format)) {
+            logger.warn("Unsupported screenshot.format '{}' - saving screenshots as png", value);
+        }
+        return "png";
+    }
+
+    /**
+     * Create the bounded executor that encodes and writes screenshots.
+     * When the queue is full, or the writer has been shut down, the test thread writes the
+     * screenshot itself; CallerRunsPolicy would drop it after shutdown and leave its future
+     * incomplete.
+     * @param threads number of writer threads
+     * @param queueSize maximum number of queued screenshots
+     * @return executor
+     */
+    private static ThreadPoolExecutor createWriter(int threads, int queueSize) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                VirtualThreads.factory("screenshot-writer-"),
+                (task, executor) -> task.run());
+    }
+}
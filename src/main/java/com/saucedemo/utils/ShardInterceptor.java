@@ -0,0 +1,145 @@
+package com.saucedemo.utils;
+
+import com.saucedemo.reporting.DurationHistory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps only the test methods that belong to this CI node's shard (shard.index of shard.total).
+ * With a duration history, methods are packed greedily, longest first, onto the least-loaded
+ * shard; without one they are assigned by a stable hash of class#method|browser. Every node
+ * computes the same assignment, so each method runs on exactly one shard.
+ */
+public class ShardInterceptor implements IMethodInterceptor {
+    private static final Logger logger = LogManager.getLogger(ShardInterceptor.class);
+    // Load carried across the <test> elements of the suite so greedy packing balances the whole run
+    private static long[] shardLoads;
+    private static final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Filter the methods of a test down to this shard
+     * @param methods methods of the test
+     * @param context test context
+     * @return methods assigned to this shard
+     */
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        ConfigReader config = ConfigReader.getInstance();
+        int total = config.getInt("shard.total", 1);
+        int index = config.getInt("shard.index", 0);
+        if (total <= 1) {
+            return methods;
+        }
+        if (index < 0 || index >= total) {
+            throw new IllegalArgumentException("shard.index must be between 0 and " + (total - 1) + ": " + index);
+        }
+
+        String browser = context.getCurrentXmlTest().getParameter("browser");
+        Map<String, Long> estimates = DurationHistory.getEstimates();
+        Set<String> mine = estimates.isEmpty()
+                ? hashAssignment(methods, browser, index, total)
+                : packedAssignment(methods, browser, estimates, index, total);
+
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            if (mine.contains(DurationHistory.keyFor(method.getMethod(), browser))) {
+                selected.add(method);
+            }
+        }
+        logger.info("Shard {}/{} runs {} of {} method(s) of {} ({})", index + 1, total, selected.size(),
+                methods.size(), context.getName(), estimates.isEmpty() ? "hashed" : "duration-balanced");
+        return selected;
+    }
+
+    /**
+     * Assign methods by a stable hash of their key
+     * @param methods methods of the test
+     * @param browser browser parameter of the test
+     * @param index this shard
+     * @param total number of shards
+     * @return keys assigned to this shard
+     */
+    private static Set<String> hashAssignment(List<IMethodInstance> methods, String browser, int index, int total) {
+        Set<String> mine = new HashSet<>();
+        for (IMethodInstance method : methods) {
+            String key = DurationHistory.keyFor(method.getMethod(), browser);
+            CRC32 crc = new CRC32();
+            crc.update(key.getBytes(StandardCharsets.UTF_8));
+            if (crc.getValue() % total == index) {
+                mine.add(key);
+            }
+        }
+        return mine;
+    }
+
+    /**
+     * Assign methods longest first to the least-loaded shard
+     * @param methods methods of the test
+     * @param browser browser parameter of the test
+     * @param estimates estimated duration per key
+     * @param index this shard
+     * @param total number of shards
+     * @return keys assigned to this shard
+     */
+    private static Set<String> packedAssignment(List<IMethodInstance> methods, String browser,
+                                                Map<String, Long> estimates, int index, int total) {
+        lock.lock();
+        try {
+            return packedAssignmentLocked(methods, browser, estimates, index, total);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Assign methods longest first to the least-loaded shard; the caller holds the lock
+     * @param methods methods of the test
+     * @param browser browser parameter of the test
+     * @param estimates estimated duration per key
+     * @param index this shard
+     * @param total number of shards
+     * @return keys assigned to this shard
+     */
+    private static Set<String> packedAssignmentLocked(List<IMethodInstance> methods, String browser,
+                                                      Map<String, Long> estimates, int index, int total) {
+        if (shardLoads == null || shardLoads.length != total) {
+            shardLoads = new long[total];
+        }
+        long fallback = estimates.values().stream().sorted().skip(estimates.size() / 2).findFirst().orElse(0L);
+        List<String> keys = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            keys.add(DurationHistory.keyFor(method.getMethod(), browser));
+        }
+        // Sort on estimate, then key, so every node sees the same order
+        keys.sort(Comparator.comparingLong((String key) -> estimates.getOrDefault(key, fallback)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        Set<String> mine = new HashSet<>();
+        for (String key : keys) {
+            int target = 0;
+            for (int shard = 1; shard < total; shard++) {
+                if (shardLoads[shard] < shardLoads[target]) {
+                    target = shard;
+                }
+            }
+            shardLoads[target] += estimates.getOrDefault(key, fallback);
+            if (target == index) {
+                mine.add(key);
+            }
+        }
+        return mine;
+    }
+}
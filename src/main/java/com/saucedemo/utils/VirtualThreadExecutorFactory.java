@@ -0,0 +1,71 @@
+package com.saucedemo.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IDynamicGraph;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.internal.thread.DefaultThreadPoolExecutorFactory;
+import org.testng.thread.IExecutorFactory;
+import org.testng.thread.ITestNGThreadPoolExecutor;
+import org.testng.thread.IThreadWorkerFactory;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs parallel test invocations on virtual threads when {@link VirtualThreads#isEnabled()}.
+ * TestNG's own scheduling is kept; only the worker threads change. Threads parked on
+ * WebDriver calls then cost no platform thread, so execution.virtual.thread.count can be
+ * raised to the number of sessions the pool or grid allows instead of a CPU-sized thread count.
+ * TestNG only takes an executor factory when it is configured, through the
+ * -threadpoolfactoryclass command-line option or TestNG#setExecutorFactoryClass. Surefire
+ * does not forward that option, so the jdk21 profile runs the suite through TestNG's command
+ * line with it.
+ */
+public class VirtualThreadExecutorFactory implements IExecutorFactory {
+    private static final Logger logger = LogManager.getLogger(VirtualThreadExecutorFactory.class);
+    private final IExecutorFactory delegate = new DefaultThreadPoolExecutorFactory();
+
+    /**
+     * Create the executor for parallel suites
+     * @return TestNG's default executor
+     */
+    @Override
+    public ITestNGThreadPoolExecutor newSuiteExecutor(String name, IDynamicGraph<ISuite> graph,
+                                                      IThreadWorkerFactory<ISuite> factory, int corePoolSize,
+                                                      int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                                      BlockingQueue<Runnable> workQueue,
+                                                      Comparator<ISuite> comparator) {
+        return delegate.newSuiteExecutor(name, graph, factory, corePoolSize, maximumPoolSize,
+                keepAliveTime, unit, workQueue, comparator);
+    }
+
+    /**
+     * Create the executor for parallel test methods, backed by virtual threads if enabled
+     * @return TestNG's default executor, with a virtual thread factory if enabled
+     */
+    @Override
+    public ITestNGThreadPoolExecutor newTestMethodExecutor(String name, IDynamicGraph<ITestNGMethod> graph,
+                                                           IThreadWorkerFactory<ITestNGMethod> factory,
+                                                           int corePoolSize, int maximumPoolSize,
+                                                           long keepAliveTime, TimeUnit unit,
+                                                           BlockingQueue<Runnable> workQueue,
+                                                           Comparator<ITestNGMethod> comparator) {
+        if (!VirtualThreads.isEnabled()) {
+            return delegate.newTestMethodExecutor(name, graph, factory, corePoolSize, maximumPoolSize,
+                    keepAliveTime, unit, workQueue, comparator);
+        }
+        int threads = ConfigReader.getInstance().getInt("execution.virtual.thread.count", 0);
+        int size = threads > 0 ? threads : maximumPoolSize;
+        ITestNGThreadPoolExecutor executor = delegate.newTestMethodExecutor(name, graph, factory,
+                size, size, keepAliveTime, unit, workQueue, comparator);
+        if (executor instanceof ThreadPoolExecutor) {
+            ((ThreadPoolExecutor) executor).setThreadFactory(VirtualThreads.factory("TestNG-virtual-"));
+        }
+        logger.info("Running test methods of {} on up to {} virtual thread(s)", name, size);
+        return executor;
+    }
+}
@@ -0,0 +1,82 @@
+package com.saucedemo.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for the framework's executors. With execution.virtual.threads=true on
+ * JDK 21+, threads are virtual, so threads blocked on WebDriver HTTP calls or file writes
+ * do not hold a platform thread. Otherwise, and on older JDKs, threads are named daemon
+ * platform threads. The JDK 21 API is looked up reflectively so the project still builds
+ * for Java 15.
+ */
+public class VirtualThreads {
+    private static final Logger logger = LogManager.getLogger(VirtualThreads.class);
+    private static final boolean REQUESTED =
+            ConfigReader.getInstance().getBoolean("execution.virtual.threads", false);
+    private static final Method OF_VIRTUAL = lookup();
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private VirtualThreads() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Check whether executors use virtual threads
+     * @return true if virtual threads are requested and supported by this JVM
+     */
+    public static boolean isEnabled() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Create a thread factory
+     * @param namePrefix thread name prefix; threads are numbered from 1
+     * @return virtual thread factory if enabled, daemon platform thread factory otherwise
+     */
+    public static ThreadFactory factory(String namePrefix) {
+        if (OF_VIRTUAL != null) {
+            try {
+                // Call through the public Thread.Builder interface; the builder class itself is internal
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                Object builder = builderType.getMethod("name", String.class, long.class)
+                        .invoke(OF_VIRTUAL.invoke(null), namePrefix, 1L);
+                return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                logger.warn("Failed to create a virtual thread factory - using platform threads: {}", e.getMessage());
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Find Thread.ofVirtual() if virtual threads are requested and available
+     * @return method, or null
+     */
+    private static Method lookup() {
+        if (!REQUESTED) {
+            return null;
+        }
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            // Fails on JDK 19/20 unless preview features are enabled
+            ofVirtual.invoke(null);
+            logger.info("Using virtual threads for test execution and background work");
+            return ofVirtual;
+        } catch (ReflectiveOperationException e) {
+            logger.warn("execution.virtual.threads=true needs JDK 21+ - using platform threads");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.saucedemo.pages;
+
+import com.saucedemo.core.WaitEngine;
+
+import java.util.Arrays;
+
+/**
+ * Page-like class that issues one wait without a browser. It lives in the pages package
+ * so the aspectjweaver agent weaves it like the real page objects.
+ */
+public class WaitProbePage {
+    private final WaitEngine wait = new WaitEngine(null);
+    private boolean woven;
+
+    /**
+     * Wait for a condition that is already met, noting whether this method was woven
+     * @return this page
+     */
+    public WaitProbePage waitForReady() {
+        woven = Arrays.stream(new Throwable().getStackTrace())
+                .anyMatch(frame -> frame.getMethodName().startsWith("waitForReady_aroundBody"));
+        wait.until(driver -> Boolean.TRUE);
+        return this;
+    }
+
+    /**
+     * Check whether the last call ran through a woven method body
+     * @return true if waitForReady was woven by the agent
+     */
+    public boolean wasWoven() {
+        return woven;
+    }
+}
@@ -3,31 +3,35 @@ package com.saucedemo.tests;
 import com.saucedemo.core.BaseTest;
 import com.saucedemo.pages.CartPage;
 import com.saucedemo.pages.CheckoutPage;
-import com.saucedemo.pages.LoginPage;
 import com.saucedemo.pages.ProductsPage;
+import com.saucedemo.utils.DataSet;
+import com.saucedemo.utils.DataSets;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.List;
+
 /**
  * Tests for checkout functionality
  */
 public class CheckoutTest extends BaseTest {
-    private CartPage cartPage;
+
+    private static final String USER = "visual";
+    private static final String PRODUCT = "Sauce Labs Backpack";
 
     /**
      * Setup for each test
      */
     @BeforeMethod
     public void setupTest() {
-        LoginPage loginPage = new LoginPage(driver);
-        ProductsPage productsPage = loginPage.login("visual_user", "secret_sauce");
-        
-        // Add a product to the cart
-        productsPage.addProductToCart("Sauce Labs Backpack");
-        
-        // Go to cart
-        cartPage = productsPage.openCart();
+        // Log in, add a product and open the cart, or restore the cart checkpoint of an earlier test
+        reachCheckpoint("cart", USER, List.of(PRODUCT), () -> {
+            loginAs(USER);
+            new ProductsPage().addProductToCart(PRODUCT).openCart();
+        });
+
+        CartPage cartPage = new CartPage();
         Assert.assertTrue(cartPage.isOnCartPage(), "Failed to navigate to cart page");
         Assert.assertEquals(cartPage.getNumberOfCartItems(), 1, "Cart should have 1 item");
     }
@@ -38,6 +42,7 @@ public class CheckoutTest extends BaseTest {
     @Test(description = "Test successful checkout process")
     public void testSuccessfulCheckout() {
         logger.info("Starting test: testSuccessfulCheckout");
+        CartPage cartPage = new CartPage();
         // Proceed to checkout
         CheckoutPage checkoutPage = cartPage.proceedToCheckout();
         
@@ -51,60 +56,28 @@ public class CheckoutTest extends BaseTest {
     }
 
     /**
-     * Test checkout with empty first name
+     * Test checkout with a missing field for each row of data/checkout-missing-fields.json
+     * @param firstName first name to enter, empty to leave the field blank
+     * @param lastName last name to enter, empty to leave the field blank
+     * @param postalCode postal code to enter, empty to leave the field blank
+     * @param expectedError text the error message must contain
      */
-    @Test(description = "Test checkout with empty first name")
-    public void testCheckoutEmptyFirstName() {
-        logger.info("Starting test: testCheckoutEmptyFirstName");
+    @DataSet("data/checkout-missing-fields.json")
+    @Test(description = "Test checkout with a missing field", dataProvider = DataSets.SEQUENTIAL,
+            dataProviderClass = DataSets.class)
+    public void testCheckoutMissingField(String firstName, String lastName, String postalCode, String expectedError) {
+        logger.info("Starting test: testCheckoutMissingField ({})", expectedError);
+        CartPage cartPage = new CartPage();
         // Proceed to checkout
         CheckoutPage checkoutPage = cartPage.proceedToCheckout();
-        
-        // Complete checkout with empty first name
-        checkoutPage.enterLastName("Doe")
-                    .enterPostalCode("12345")
-                    .clickContinue();
-        
-        // Verify error message
-        Assert.assertTrue(checkoutPage.getErrorMessage().contains("First Name is required"), 
-                "Error message does not contain expected text");
-    }
 
-    /**
-     * Test checkout with empty last name
-     */
-    @Test(description = "Test checkout with empty last name")
-    public void testCheckoutEmptyLastName() {
-        logger.info("Starting test: testCheckoutEmptyLastName");
-        // Proceed to checkout
-        CheckoutPage checkoutPage = cartPage.proceedToCheckout();
-        
-        // Complete checkout with empty last name
-        checkoutPage.enterFirstName("John")
-                    .enterPostalCode("12345")
+        // Complete checkout with one field left blank
+        checkoutPage.fillCheckoutForm(firstName, lastName, postalCode)
                     .clickContinue();
-        
-        // Verify error message
-        Assert.assertTrue(checkoutPage.getErrorMessage().contains("Last Name is required"), 
-                "Error message does not contain expected text");
-    }
 
-    /**
-     * Test checkout with empty postal code
-     */
-    @Test(description = "Test checkout with empty postal code")
-    public void testCheckoutEmptyPostalCode() {
-        logger.info("Starting test: testCheckoutEmptyPostalCode");
-        // Proceed to checkout
-        CheckoutPage checkoutPage = cartPage.proceedToCheckout();
-        
-        // Complete checkout with empty postal code
-        checkoutPage.enterFirstName("John")
-                    .enterLastName("Doe")
-                    .clickContinue();
-        
         // Verify error message
-        Assert.assertTrue(checkoutPage.getErrorMessage().contains("Postal Code is required"), 
-                "Error message does not contain expected text");
+        Assert.assertTrue(checkoutPage.getErrorMessage().contains(expectedError),
+                "Error message does not contain expected text: " + expectedError);
     }
 
     /**
@@ -113,6 +86,7 @@ public class CheckoutTest extends BaseTest {
     @Test(description = "Test canceling checkout")
     public void testCancelCheckout() {
         logger.info("Starting test: testCancelCheckout");
+        CartPage cartPage = new CartPage();
         // Proceed to checkout
         CheckoutPage checkoutPage = cartPage.proceedToCheckout();
         
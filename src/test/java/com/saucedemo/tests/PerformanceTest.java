@@ -0,0 +1,54 @@
+package com.saucedemo.tests;
+
+import com.saucedemo.core.BaseTest;
+import com.saucedemo.pages.CartPage;
+import com.saucedemo.pages.ProductsPage;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Page load tests for the performance glitch user; the captured page metrics are checked
+ * against the perf.budget.* keys in config.properties
+ */
+public class PerformanceTest extends BaseTest {
+
+    /**
+     * Login before each test
+     */
+    @BeforeMethod
+    public void setupTest() {
+        loginAs("performance");
+        Assert.assertTrue(new ProductsPage().isOnProductsPage(), "Failed to navigate to products page");
+    }
+
+    /**
+     * Test a full load of the inventory page
+     */
+    @Test(description = "Test inventory page load time")
+    public void testInventoryLoad() {
+        logger.info("Starting test: testInventoryLoad");
+        // Reload so the inventory is measured as a full document load
+        getDriver().navigate().refresh();
+        ProductsPage productsPage = new ProductsPage();
+
+        Assert.assertTrue(productsPage.isOnProductsPage(), "Products page not loaded");
+        Assert.assertEquals(productsPage.getNumberOfProducts(), 6, "Incorrect number of products displayed");
+    }
+
+    /**
+     * Test the transitions between the inventory and the cart
+     */
+    @Test(description = "Test inventory and cart transition times")
+    public void testCartRoundTrip() {
+        logger.info("Starting test: testCartRoundTrip");
+        CartPage cartPage = new ProductsPage()
+                .addProductToCart("Sauce Labs Backpack")
+                .openCart();
+        Assert.assertTrue(cartPage.isOnCartPage(), "Failed to navigate to cart page");
+        Assert.assertEquals(cartPage.getNumberOfCartItems(), 1, "Incorrect number of items in cart");
+
+        ProductsPage productsPage = cartPage.continueShopping();
+        Assert.assertTrue(productsPage.isOnProductsPage(), "Failed to return to products page");
+    }
+}
@@ -13,16 +13,14 @@ import java.util.List;
  * Tests for products page functionality
  */
 public class ProductsTest extends BaseTest {
-    private ProductsPage productsPage;
 
     /**
      * Login before each test
      */
     @BeforeMethod
     public void setupTest() {
-        LoginPage loginPage = new LoginPage(driver);
-        productsPage = loginPage.login("visual_user", "secret_sauce");
-        Assert.assertTrue(productsPage.isOnProductsPage(), "Failed to navigate to products page");
+        loginAs("visual");
+        Assert.assertTrue(new ProductsPage().isOnProductsPage(), "Failed to navigate to products page");
     }
 
     /**
@@ -31,6 +29,7 @@ public class ProductsTest extends BaseTest {
     @Test(description = "Test products are displayed correctly")
     public void testProductsDisplayed() {
         logger.info("Starting test: testProductsDisplayed");
+        ProductsPage productsPage = new ProductsPage();
         int numberOfProducts = productsPage.getNumberOfProducts();
         
         Assert.assertTrue(numberOfProducts > 0, "No products displayed on products page");
@@ -43,6 +42,7 @@ public class ProductsTest extends BaseTest {
     @Test(description = "Test product names are correct")
     public void testProductNames() {
         logger.info("Starting test: testProductNames");
+        ProductsPage productsPage = new ProductsPage();
         List<String> productNames = productsPage.getAllProductNames();
         
         Assert.assertTrue(productNames.contains("Sauce Labs Backpack"), "Expected product not found");
@@ -56,6 +56,7 @@ public class ProductsTest extends BaseTest {
     @Test(description = "Test sorting products by name")
     public void testSortProductsByNameAZ() {
         logger.info("Starting test: testSortProductsByNameAZ");
+        ProductsPage productsPage = new ProductsPage();
         productsPage.sortProductsBy("Name (A to Z)");
         List<String> productNames = productsPage.getAllProductNames();
         
@@ -71,6 +72,7 @@ public class ProductsTest extends BaseTest {
     @Test(description = "Test sorting products by name in reverse")
     public void testSortProductsByNameZA() {
         logger.info("Starting test: testSortProductsByNameZA");
+        ProductsPage productsPage = new ProductsPage();
         productsPage.sortProductsBy("Name (Z to A)");
         List<String> productNames = productsPage.getAllProductNames();
         
@@ -86,9 +88,10 @@ public class ProductsTest extends BaseTest {
     @Test(description = "Test logging out")
     public void testLogout() {
         logger.info("Starting test: testLogout");
+        ProductsPage productsPage = new ProductsPage();
         LoginPage loginPage = productsPage.logout();
         
         // Verify we're back on the login page
-        Assert.assertTrue(driver.getCurrentUrl().contains("saucedemo.com"), "Not redirected to login page after logout");
+        Assert.assertTrue(getDriver().getCurrentUrl().startsWith(config.getProperty("base.url")), "Not redirected to login page after logout");
     }
 }
\ No newline at end of file
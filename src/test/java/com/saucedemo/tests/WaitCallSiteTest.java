@@ -0,0 +1,31 @@
+package com.saucedemo.tests;
+
+import com.saucedemo.core.WaitEngine;
+import com.saucedemo.pages.WaitProbePage;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that waits are attributed to the page method that issued them when page objects
+ * are woven by the aspectjweaver agent, so wait.timeout.&lt;Page&gt;.&lt;method&gt; overrides apply.
+ * Needs no browser.
+ */
+public class WaitCallSiteTest {
+
+    /**
+     * Test the call site of a wait issued from a woven page method
+     */
+    @Test(description = "Test wait call sites under the aspectjweaver agent")
+    public void testWovenCallSite() {
+        WaitProbePage page = new WaitProbePage().waitForReady();
+        if (!page.wasWoven()) {
+            throw new SkipException("Page objects are not woven; run through surefire with the aspectjweaver agent");
+        }
+
+        Assert.assertTrue(WaitEngine.getHistograms().containsKey("WaitProbePage.waitForReady"),
+                "Wait not attributed to the page method: " + WaitEngine.getHistograms().keySet());
+        Assert.assertTrue(WaitEngine.getHistograms().keySet().stream().noneMatch(key -> key.contains("_aroundBody")),
+                "Woven method name used as call site: " + WaitEngine.getHistograms().keySet());
+    }
+}
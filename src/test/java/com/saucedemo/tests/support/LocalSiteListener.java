@@ -0,0 +1,74 @@
+package com.saucedemo.tests.support;
+
+import com.saucedemo.utils.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves the local replica of the site for the suite when local.site.enabled=true
+ * and points base.url at it, so runs need no network access.
+ */
+public class LocalSiteListener implements ISuiteListener {
+    private static final Logger logger = LogManager.getLogger(LocalSiteListener.class);
+    private static final ReentrantLock lock = new ReentrantLock();
+    private static LocalSiteServer server;
+
+    /**
+     * Start the local site before the suite's configuration methods run
+     * @param suite suite
+     */
+    @Override
+    public void onStart(ISuite suite) {
+        lock.lock();
+        try {
+            startServer(suite);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Start the local site unless disabled or already running; the caller holds the lock
+     * @param suite suite
+     */
+    private void startServer(ISuite suite) {
+        ConfigReader config = ConfigReader.getInstance();
+        if (server != null || !config.getBoolean("local.site.enabled", false)) {
+            return;
+        }
+        try {
+            server = new LocalSiteServer(config.getProperty("local.site.host", "127.0.0.1"),
+                    config.getInt("local.site.port", 0)).start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start the local site", e);
+        }
+        String publicHost = config.getProperty("local.site.public.host", "");
+        String baseUrl = publicHost.isEmpty() ? server.getBaseUrl() : server.getBaseUrl(publicHost);
+        System.setProperty("base.url", baseUrl);
+        ConfigReader.reload();
+        logger.info("base.url overridden for suite {}: {}", suite.getName(), baseUrl);
+    }
+
+    /**
+     * Stop the local site after the suite
+     * @param suite suite
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        lock.lock();
+        try {
+            if (server != null) {
+                server.stop();
+                server = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
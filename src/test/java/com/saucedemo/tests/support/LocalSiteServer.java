@@ -0,0 +1,149 @@
+package com.saucedemo.tests.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-JVM HTTP server for the local replica of the SauceDemo site.
+ * Pages are static files under site/ on the test classpath and keep the ids and
+ * classes the page objects target; all behaviour is client-side, as on the real site.
+ */
+public class LocalSiteServer {
+    private static final Logger logger = LogManager.getLogger(LocalSiteServer.class);
+    private static final String SITE_RESOURCE_DIR = "site/";
+    private static final String INDEX_FILE = "index.html";
+    private static final List<String> SITE_FILES = List.of(
+            INDEX_FILE, "inventory.html", "cart.html", "checkout-step-one.html", "checkout-step-two.html",
+            "checkout-complete.html", "app.js", "app.css");
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "js", "application/javascript; charset=utf-8",
+            "css", "text/css; charset=utf-8");
+
+    private final Map<String, byte[]> files = new HashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor. Loads the site into memory and binds the server without starting it.
+     * @param host address to bind to
+     * @param port port to bind to, or 0 for an ephemeral port
+     * @throws IOException if the site cannot be read or the port cannot be bound
+     */
+    public LocalSiteServer(String host, int port) throws IOException {
+        for (String file : SITE_FILES) {
+            files.put(file, readResource(SITE_RESOURCE_DIR + file));
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-site-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Start serving requests
+     * @return this server
+     */
+    public LocalSiteServer start() {
+        server.start();
+        logger.info("Local site started at: {}", getBaseUrl());
+        return this;
+    }
+
+    /**
+     * Stop the server, letting in-flight requests finish
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Local site stopped");
+    }
+
+    /**
+     * Get the URL of the site root
+     * @return base URL ending with a slash
+     */
+    public String getBaseUrl() {
+        return getBaseUrl(server.getAddress().getHostString());
+    }
+
+    /**
+     * Get the URL of the site root as seen from another host, e.g. a grid node
+     * @param host host name under which this machine is reachable
+     * @return base URL ending with a slash
+     */
+    public String getBaseUrl(String host) {
+        return "http://" + host + ":" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Serve a request from the in-memory site
+     * @param exchange HTTP exchange
+     * @throws IOException if the response cannot be written
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath().substring(1);
+            byte[] body = files.get(path.isEmpty() ? INDEX_FILE : path);
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            String extension = path.isEmpty() ? "html" : path.substring(path.lastIndexOf('.') + 1);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPES.get(extension));
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+    }
+
+    /**
+     * Read a classpath resource
+     * @param name resource name
+     * @return resource bytes
+     * @throws IOException if the resource is missing or unreadable
+     */
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream input = LocalSiteServer.class.getClassLoader().getResourceAsStream(name)) {
+            if (input == null) {
+                throw new IOException("Site resource not found: " + name);
+            }
+            return input.readAllBytes();
+        }
+    }
+}
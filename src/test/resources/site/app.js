@@ -0,0 +1,352 @@
+/*
+ * Local replica of the SauceDemo storefront. State lives where the real site keeps it:
+ * the logged-in user in the "session-username" cookie and the cart in
+ * localStorage["cart-contents"] as a JSON array of product ids.
+ */
+(function () {
+    'use strict';
+
+    var PASSWORD = 'secret_sauce';
+    var USERS = ['standard_user', 'locked_out_user', 'problem_user', 'performance_glitch_user',
+        'error_user', 'visual_user'];
+    var PRODUCTS = [
+        {id: 0, name: 'Sauce Labs Bike Light', price: 9.99,
+            desc: 'A red light isn\'t the desired state in testing but it sure helps when riding your bike at night.'},
+        {id: 1, name: 'Sauce Labs Bolt T-Shirt', price: 15.99,
+            desc: 'Get your testing superhero on with the Sauce Labs bolt T-shirt.'},
+        {id: 2, name: 'Sauce Labs Onesie', price: 7.99,
+            desc: 'Rib snap infant onesie for the junior automation engineer in development.'},
+        {id: 3, name: 'Test.allTheThings() T-Shirt (Red)', price: 15.99,
+            desc: 'This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate a few tests.'},
+        {id: 4, name: 'Sauce Labs Backpack', price: 29.99,
+            desc: 'carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with unequaled laptop and tablet protection.'},
+        {id: 5, name: 'Sauce Labs Fleece Jacket', price: 49.99,
+            desc: 'It\'s not every day that you come across a midweight quarter-zip fleece jacket capable of handling everything from a relaxing day outdoors to a busy day at the office.'}
+    ];
+    var SORTS = {
+        az: function (a, b) { return a.name.localeCompare(b.name); },
+        za: function (a, b) { return b.name.localeCompare(a.name); },
+        lohi: function (a, b) { return a.price - b.price || a.name.localeCompare(b.name); },
+        hilo: function (a, b) { return b.price - a.price || a.name.localeCompare(b.name); }
+    };
+    var SESSION_COOKIE = 'session-username';
+    var CART_KEY = 'cart-contents';
+
+    function el(tag, attrs, children) {
+        var node = document.createElement(tag);
+        Object.keys(attrs || {}).forEach(function (name) {
+            if (name === 'text') {
+                node.textContent = attrs[name];
+            } else {
+                node.setAttribute(name, attrs[name]);
+            }
+        });
+        (children || []).forEach(function (child) { node.appendChild(child); });
+        return node;
+    }
+
+    function slug(name) {
+        return name.toLowerCase().replace(/ /g, '-');
+    }
+
+    function money(value) {
+        return '$' + value.toFixed(2);
+    }
+
+    function product(id) {
+        return PRODUCTS.filter(function (p) { return p.id === id; })[0];
+    }
+
+    function currentUser() {
+        var match = document.cookie.match(new RegExp('(?:^|; )' + SESSION_COOKIE + '=([^;]*)'));
+        return match ? decodeURIComponent(match[1]) : null;
+    }
+
+    function setUser(username) {
+        if (username) {
+            document.cookie = SESSION_COOKIE + '=' + encodeURIComponent(username) + '; path=/';
+        } else {
+            document.cookie = SESSION_COOKIE + '=; path=/; expires=Thu, 01 Jan 1970 00:00:00 GMT';
+        }
+    }
+
+    function cart() {
+        try {
+            return JSON.parse(window.localStorage.getItem(CART_KEY)) || [];
+        } catch (e) {
+            return [];
+        }
+    }
+
+    function saveCart(ids) {
+        if (ids.length) {
+            window.localStorage.setItem(CART_KEY, JSON.stringify(ids));
+        } else {
+            window.localStorage.removeItem(CART_KEY);
+        }
+        renderBadge();
+    }
+
+    function toggleCart(id) {
+        var ids = cart();
+        var index = ids.indexOf(id);
+        if (index >= 0) {
+            ids.splice(index, 1);
+        } else {
+            ids.push(id);
+        }
+        saveCart(ids);
+        return index < 0;
+    }
+
+    function showError(container, message) {
+        container.innerHTML = '';
+        container.classList.add('error');
+        container.appendChild(el('h3', {'data-test': 'error', text: message}));
+    }
+
+    function renderBadge() {
+        var link = document.querySelector('.shopping_cart_link');
+        if (!link) {
+            return;
+        }
+        var badge = link.querySelector('.shopping_cart_badge');
+        var count = cart().length;
+        if (count && !badge) {
+            link.appendChild(el('span', {'class': 'shopping_cart_badge', 'data-test': 'shopping-cart-badge',
+                text: String(count)}));
+        } else if (count) {
+            badge.textContent = String(count);
+        } else if (badge) {
+            link.removeChild(badge);
+        }
+    }
+
+    function renderHeader(title) {
+        var menu = el('div', {'class': 'bm-menu-wrap', 'aria-hidden': 'true'}, [
+            el('nav', {'class': 'bm-item-list'}, [
+                el('a', {id: 'inventory_sidebar_link', 'class': 'bm-item menu-item', href: 'inventory.html',
+                    'data-test': 'inventory-sidebar-link', text: 'All Items'}),
+                el('a', {id: 'about_sidebar_link', 'class': 'bm-item menu-item', href: '#',
+                    'data-test': 'about-sidebar-link', text: 'About'}),
+                el('a', {id: 'logout_sidebar_link', 'class': 'bm-item menu-item', href: '#',
+                    'data-test': 'logout-sidebar-link', text: 'Logout'}),
+                el('a', {id: 'reset_sidebar_link', 'class': 'bm-item menu-item', href: '#',
+                    'data-test': 'reset-sidebar-link', text: 'Reset App State'})
+            ]),
+            el('button', {id: 'react-burger-cross-btn', type: 'button', text: 'Close Menu'})
+        ]);
+        var header = document.getElementById('header_container');
+        header.appendChild(el('div', {'class': 'primary_header', 'data-test': 'primary-header'}, [
+            el('div', {id: 'menu_button_container'}, [
+                el('div', {'class': 'bm-burger-button'}, [
+                    el('button', {id: 'react-burger-menu-btn', type: 'button', text: 'Open Menu'})
+                ]),
+                menu
+            ]),
+            el('div', {'class': 'header_label'}, [el('div', {'class': 'app_logo', text: 'Swag Labs'})]),
+            el('div', {id: 'shopping_cart_container', 'class': 'shopping_cart_container'}, [
+                el('a', {'class': 'shopping_cart_link', href: 'cart.html', 'data-test': 'shopping-cart-link'})
+            ])
+        ]));
+        header.appendChild(el('div', {'class': 'header_secondary_container', 'data-test': 'secondary-header'}, [
+            el('span', {'class': 'title', 'data-test': 'title', text: title})
+        ]));
+        renderBadge();
+
+        function setMenuOpen(open) {
+            menu.classList.toggle('bm-menu-open', open);
+            menu.setAttribute('aria-hidden', String(!open));
+        }
+        document.getElementById('react-burger-menu-btn').addEventListener('click', function () { setMenuOpen(true); });
+        document.getElementById('react-burger-cross-btn').addEventListener('click', function () { setMenuOpen(false); });
+        document.getElementById('logout_sidebar_link').addEventListener('click', function (event) {
+            event.preventDefault();
+            setUser(null);
+            window.location.href = './';
+        });
+        document.getElementById('reset_sidebar_link').addEventListener('click', function (event) {
+            event.preventDefault();
+            saveCart([]);
+            setMenuOpen(false);
+            if (document.body.getAttribute('data-page') === 'inventory') {
+                initInventory();
+            }
+        });
+    }
+
+    function cartButton(item, inCart) {
+        var id = (inCart ? 'remove-' : 'add-to-cart-') + slug(item.name);
+        return el('button', {
+            'class': 'btn btn_small btn_inventory ' + (inCart ? 'btn_secondary' : 'btn_primary'),
+            id: id,
+            name: id,
+            'data-test': id,
+            text: inCart ? 'Remove' : 'Add to cart'
+        });
+    }
+
+    function bindCartButton(item, button) {
+        button.addEventListener('click', function () {
+            var replacement = bindCartButton(item, cartButton(item, toggleCart(item.id)));
+            button.parentNode.replaceChild(replacement, button);
+        });
+        return button;
+    }
+
+    function itemDescription(item, extra) {
+        return el('div', {'class': 'inventory_item_description', 'data-test': 'inventory-item-description'}, [
+            el('div', {'class': 'inventory_item_label'}, [
+                el('a', {id: 'item_' + item.id + '_title_link', href: '#'}, [
+                    el('div', {'class': 'inventory_item_name', 'data-test': 'inventory-item-name', text: item.name})
+                ]),
+                el('div', {'class': 'inventory_item_desc', 'data-test': 'inventory-item-desc', text: item.desc})
+            ]),
+            el('div', {'class': 'pricebar'}, [
+                el('div', {'class': 'inventory_item_price', 'data-test': 'inventory-item-price', text: money(item.price)})
+            ].concat(extra))
+        ]);
+    }
+
+    function initLogin() {
+        var error = document.querySelector('.error-message-container');
+        var params = new URLSearchParams(window.location.search);
+        if (params.get('denied')) {
+            showError(error, 'Epic sadface: You can only access \'/' + params.get('denied')
+                + '\' when you are logged in.');
+        }
+        document.getElementById('login-form').addEventListener('submit', function (event) {
+            event.preventDefault();
+            var username = document.getElementById('user-name').value;
+            var password = document.getElementById('password').value;
+            if (!username) {
+                showError(error, 'Epic sadface: Username is required');
+            } else if (!password) {
+                showError(error, 'Epic sadface: Password is required');
+            } else if (USERS.indexOf(username) < 0 || password !== PASSWORD) {
+                showError(error, 'Epic sadface: Username and password do not match any user in this service');
+            } else if (username === 'locked_out_user') {
+                showError(error, 'Epic sadface: Sorry, this user has been locked out.');
+            } else {
+                setUser(username);
+                window.location.href = 'inventory.html';
+            }
+        });
+    }
+
+    function initInventory() {
+        var header = document.querySelector('.header_secondary_container');
+        var select = header.querySelector('.product_sort_container');
+        if (!select) {
+            select = el('select', {'class': 'product_sort_container', 'data-test': 'product-sort-container'},
+                [['az', 'Name (A to Z)'], ['za', 'Name (Z to A)'], ['lohi', 'Price (low to high)'],
+                    ['hilo', 'Price (high to low)']].map(function (option) {
+                    return el('option', {value: option[0], text: option[1]});
+                }));
+            header.appendChild(el('div', {'class': 'right_component'}, [
+                el('span', {'class': 'select_container'}, [select])
+            ]));
+            select.addEventListener('change', initInventory);
+        }
+
+        var list = document.getElementById('inventory_list');
+        list.innerHTML = '';
+        var ids = cart();
+        PRODUCTS.slice().sort(SORTS[select.value]).forEach(function (item) {
+            list.appendChild(el('div', {'class': 'inventory_item', 'data-test': 'inventory-item'}, [
+                el('div', {'class': 'inventory_item_img'}),
+                itemDescription(item, [bindCartButton(item, cartButton(item, ids.indexOf(item.id) >= 0))])
+            ]));
+        });
+    }
+
+    function renderCartItems(container, removable) {
+        var list = container.querySelector('.cart_list');
+        cart().map(product).filter(Boolean).forEach(function (item) {
+            var extra = [];
+            if (removable) {
+                var button = cartButton(item, true);
+                button.addEventListener('click', function () {
+                    toggleCart(item.id);
+                    list.removeChild(row);
+                });
+                extra.push(button);
+            }
+            var row = el('div', {'class': 'cart_item', 'data-test': 'inventory-item'}, [
+                el('div', {'class': 'cart_quantity', 'data-test': 'item-quantity', text: '1'}),
+                itemDescription(item, extra)
+            ]);
+            list.appendChild(row);
+        });
+    }
+
+    function initCart() {
+        renderCartItems(document.getElementById('cart_contents_container'), true);
+        document.getElementById('continue-shopping').addEventListener('click', function () {
+            window.location.href = 'inventory.html';
+        });
+        document.getElementById('checkout').addEventListener('click', function () {
+            window.location.href = 'checkout-step-one.html';
+        });
+    }
+
+    function initCheckoutStepOne() {
+        var error = document.querySelector('.error-message-container');
+        document.getElementById('cancel').addEventListener('click', function () {
+            window.location.href = 'cart.html';
+        });
+        document.getElementById('checkout-form').addEventListener('submit', function (event) {
+            event.preventDefault();
+            if (!document.getElementById('first-name').value) {
+                showError(error, 'Error: First Name is required');
+            } else if (!document.getElementById('last-name').value) {
+                showError(error, 'Error: Last Name is required');
+            } else if (!document.getElementById('postal-code').value) {
+                showError(error, 'Error: Postal Code is required');
+            } else {
+                window.location.href = 'checkout-step-two.html';
+            }
+        });
+    }
+
+    function initCheckoutStepTwo() {
+        renderCartItems(document.getElementById('checkout_summary_container'), false);
+        var subtotal = cart().map(product).filter(Boolean)
+            .reduce(function (sum, item) { return sum + item.price; }, 0);
+        var tax = Math.round(subtotal * 8) / 100;
+        document.querySelector('.summary_subtotal_label').textContent = 'Item total: ' + money(subtotal);
+        document.querySelector('.summary_tax_label').textContent = 'Tax: ' + money(tax);
+        document.querySelector('.summary_total_label').textContent = 'Total: ' + money(subtotal + tax);
+        document.getElementById('cancel').addEventListener('click', function () {
+            window.location.href = 'inventory.html';
+        });
+        document.getElementById('finish').addEventListener('click', function () {
+            saveCart([]);
+            window.location.href = 'checkout-complete.html';
+        });
+    }
+
+    function initCheckoutComplete() {
+        document.getElementById('back-to-products').addEventListener('click', function () {
+            window.location.href = 'inventory.html';
+        });
+    }
+
+    var PAGES = {
+        'inventory': initInventory,
+        'cart': initCart,
+        'checkout-step-one': initCheckoutStepOne,
+        'checkout-step-two': initCheckoutStepTwo,
+        'checkout-complete': initCheckoutComplete
+    };
+
+    var page = document.body.getAttribute('data-page');
+    if (page === 'login') {
+        initLogin();
+    } else if (!currentUser()) {
+        window.location.replace('./?denied=' + encodeURIComponent(window.location.pathname.replace(/^\//, '')));
+    } else {
+        renderHeader(document.body.getAttribute('data-title'));
+        PAGES[page]();
+    }
+}());